@@ -0,0 +1,83 @@
+package com.campusconnect.config;
+
+import com.campusconnect.resilience.CircuitBreaker;
+import com.campusconnect.resilience.QueryTimeouts;
+import com.campusconnect.resilience.RepositoryResilienceInterceptor;
+import com.campusconnect.resilience.RepositoryResilienceInterceptor.Compartment;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.Repository;
+
+import java.util.EnumMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class MongoResilienceConfig {
+
+    // Driver-level deadlines so no call can block a request thread indefinitely
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoTimeouts(
+            @Value("${app.mongo.connect-timeout-ms:3000}") int connectTimeoutMs,
+            @Value("${app.mongo.read-timeout-ms:10000}") int readTimeoutMs,
+            @Value("${app.mongo.server-selection-timeout-ms:3000}") long serverSelectionTimeoutMs,
+            @Value("${app.mongo.pool-max-wait-ms:2000}") long poolMaxWaitMs) {
+        // The socket timeout must outlast the longest maxTimeMS, or slow reports fail as socket errors
+        int socketTimeoutMs = Math.max(readTimeoutMs, (int) QueryTimeouts.REPORT_MS + 2000);
+        return settings -> settings
+                .applyToSocketSettings(s -> s
+                        .connectTimeout(connectTimeoutMs, TimeUnit.MILLISECONDS)
+                        .readTimeout(socketTimeoutMs, TimeUnit.MILLISECONDS))
+                .applyToClusterSettings(c -> c.serverSelectionTimeout(serverSelectionTimeoutMs, TimeUnit.MILLISECONDS))
+                .applyToConnectionPoolSettings(p -> p.maxWaitTime(poolMaxWaitMs, TimeUnit.MILLISECONDS));
+    }
+
+    @Bean
+    public RepositoryResilienceInterceptor repositoryResilienceInterceptor(
+            @Value("${app.resilience.breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${app.resilience.breaker.open-ms:10000}") long openMs,
+            @Value("${app.resilience.bulkhead.auth:20}") int auth,
+            @Value("${app.resilience.bulkhead.booking:20}") int booking,
+            @Value("${app.resilience.bulkhead.read:40}") int read,
+            @Value("${app.resilience.bulkhead.wait-ms:200}") long waitMs) {
+        var bulkheads = new EnumMap<Compartment, Semaphore>(Compartment.class);
+        bulkheads.put(Compartment.AUTH, new Semaphore(auth));
+        bulkheads.put(Compartment.BOOKING, new Semaphore(booking));
+        bulkheads.put(Compartment.READ, new Semaphore(read));
+        // One breaker per compartment: failing reads must not reject logins or bookings
+        var breakers = new EnumMap<Compartment, CircuitBreaker>(Compartment.class);
+        for (Compartment c : Compartment.values()) {
+            breakers.put(c, new CircuitBreaker(c.name().toLowerCase(), failureThreshold, openMs));
+        }
+        return new RepositoryResilienceInterceptor(breakers, bulkheads, waitMs);
+    }
+
+    // Static so it is registered before the repositories it wraps are created.
+    // The advice is added to the Spring Data proxy itself instead of wrapping it in
+    // a second proxy, so no extra proxy types are needed in a native image.
+    @Bean
+    public static BeanPostProcessor repositoryResilienceProxy(ObjectProvider<RepositoryResilienceInterceptor> interceptor) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof Repository<?, ?>)) {
+                    return bean;
+                }
+                var advice = interceptor.getObject().adviceFor(bean);
+                if (bean instanceof Advised advised && !advised.isFrozen()) {
+                    advised.addAdvice(0, advice);
+                    return bean;
+                }
+                ProxyFactory factory = new ProxyFactory(bean);
+                factory.addAdvice(advice);
+                return factory.getProxy();
+            }
+        };
+    }
+}
@@ -0,0 +1,76 @@
+package com.campusconnect.config;
+
+import com.campusconnect.dto.*;
+import com.campusconnect.model.*;
+import com.campusconnect.service.BookingAnalyticsService;
+import com.campusconnect.service.CheckInService;
+import com.campusconnect.service.ExportJob;
+import com.campusconnect.service.TrendingService;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * AOT / native-image hints for what Spring cannot infer: controllers return
+ * {@code ResponseEntity<?>} and services map raw documents, so every model, DTO
+ * and response record is listed here; jjwt loads its implementation
+ * reflectively, and POI's XMLBeans schemas are looked up by name on the
+ * classpath. Keep the list in step when adding response or document types.
+ */
+@Configuration
+@RegisterReflectionForBinding({
+        Club.class, Event.class, Student.class, Ticket.class,
+        ApiMessage.class, ClubEventStats.class, ClubLoginRequest.class, ClubRegisterRequest.class,
+        EventCreateRequest.class, StudentLoginRequest.class, StudentRegisterRequest.class, TicketBookRequest.class,
+        CheckInRequest.class, MyTicketView.class, MyTicketsPage.class, EventSyncResponse.class,
+        CheckIn.class, AttendeeBucket.class, AttendeeBucket.Entry.class, ReminderRun.class,
+        EventAnalytics.class, InvalidationMessage.class,
+        ExportJob.class, BookingAnalyticsService.Report.class, TrendingService.Entry.class, CheckInService.Result.class
+})
+@ImportRuntimeHints(NativeHintsConfig.LibraryHints.class)
+public class NativeHintsConfig {
+
+    static class LibraryHints implements RuntimeHintsRegistrar {
+        private static final String[] JJWT_TYPES = {
+                "io.jsonwebtoken.impl.DefaultJwtBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParser",
+                "io.jsonwebtoken.impl.DefaultClaims",
+                "io.jsonwebtoken.impl.DefaultJwsHeader",
+                "io.jsonwebtoken.impl.DefaultHeader",
+                "io.jsonwebtoken.impl.compression.DefaultCompressionCodecResolver",
+                "io.jsonwebtoken.impl.security.KeysBridge",
+                "io.jsonwebtoken.jackson.io.JacksonSerializer",
+                "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+        };
+
+        private static final String[] POI_TYPES = {
+                "org.apache.poi.schemas.ooxml.system.ooxml.TypeSystemHolder",
+                "org.apache.poi.xssf.usermodel.XSSFWorkbookFactory",
+                "org.apache.poi.xssf.model.StylesTable",
+                "org.apache.poi.xssf.model.SharedStringsTable",
+                "org.apache.poi.xssf.model.ThemesTable",
+                "org.apache.poi.xssf.usermodel.XSSFSheet"
+        };
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (String type : JJWT_TYPES) {
+                hints.reflection().registerTypeIfPresent(classLoader, type,
+                        MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+            for (String type : POI_TYPES) {
+                hints.reflection().registerTypeIfPresent(classLoader, type,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS,
+                        MemberCategory.DECLARED_FIELDS);
+            }
+            // XMLBeans resolves generated schema types by name from these resources
+            hints.resources().registerPattern("org/apache/poi/schemas/ooxml/*");
+            hints.resources().registerPattern("org/apache/poi/schemas/ooxml/**/*.xsb");
+            hints.resources().registerPattern("org/apache/poi/**/*.properties");
+        }
+    }
+}
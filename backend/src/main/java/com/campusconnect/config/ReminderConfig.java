@@ -0,0 +1,47 @@
+package com.campusconnect.config;
+
+import com.campusconnect.reminder.LoggingReminderTransport;
+import com.campusconnect.reminder.ReminderTransport;
+import com.campusconnect.reminder.SmtpReminderTransport;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.Properties;
+
+@Configuration
+public class ReminderConfig {
+
+    // Chosen from plain properties at runtime, not from an auto-configured JavaMailSender:
+    // with spring.aot.enabled the mail auto-configuration condition is fixed at build time.
+    // app.reminders.transport=smtp sends through app.reminders.smtp.* (a local SMTP stand-in
+    // works for testing); anything else only logs.
+    @Bean
+    public ReminderTransport reminderTransport(@Value("${app.reminders.transport:log}") String transport,
+                                               @Value("${app.reminders.from:no-reply@campusconnect.local}") String from,
+                                               @Value("${app.reminders.smtp.host:localhost}") String host,
+                                               @Value("${app.reminders.smtp.port:25}") int port,
+                                               @Value("${app.reminders.smtp.username:}") String username,
+                                               @Value("${app.reminders.smtp.password:}") String password,
+                                               @Value("${app.reminders.smtp.starttls:false}") boolean starttls,
+                                               @Value("${app.reminders.smtp.timeout-ms:10000}") int timeoutMs) {
+        if (!"smtp".equalsIgnoreCase(transport.trim())) {
+            return new LoggingReminderTransport();
+        }
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+        sender.setHost(host);
+        sender.setPort(port);
+        Properties props = sender.getJavaMailProperties();
+        if (!username.isBlank()) {
+            sender.setUsername(username);
+            sender.setPassword(password);
+            props.put("mail.smtp.auth", "true");
+        }
+        props.put("mail.smtp.starttls.enable", String.valueOf(starttls));
+        props.put("mail.smtp.connectiontimeout", String.valueOf(timeoutMs));
+        props.put("mail.smtp.timeout", String.valueOf(timeoutMs));
+        props.put("mail.smtp.writetimeout", String.valueOf(timeoutMs));
+        return new SmtpReminderTransport(sender, from);
+    }
+}
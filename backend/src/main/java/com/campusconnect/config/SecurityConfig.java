@@ -24,11 +24,15 @@ public class SecurityConfig {
             .cors(Customizer.withDefaults())
             .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
+                .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
                 .requestMatchers("/clubs/register", "/clubs/login").permitAll()
+                .requestMatchers("/clubs/dashboard").hasRole("CLUB")
                 .requestMatchers("/students/register", "/students/login").permitAll()
+                .requestMatchers("/events/*/analytics").hasRole("CLUB")
                 .requestMatchers("/events", "/events/*").permitAll()
                 .requestMatchers("/tickets/book").permitAll()
-                .requestMatchers("/tickets/my-tickets").permitAll()
+                .requestMatchers("/tickets/my-tickets", "/tickets/my-tickets/events").permitAll()
+                .requestMatchers("/tickets/checkin").hasRole("CLUB")
                 .requestMatchers("/tickets/*").authenticated()  // Cancel ticket - requires auth
                 .requestMatchers("/tickets/event/*/attendees").hasRole("CLUB")
                 .requestMatchers("/tickets/export/**").hasRole("CLUB")
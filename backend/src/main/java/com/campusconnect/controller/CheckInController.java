@@ -0,0 +1,49 @@
+package com.campusconnect.controller;
+
+import com.campusconnect.dto.CheckInRequest;
+import com.campusconnect.security.JwtService;
+import com.campusconnect.security.TicketToken;
+import com.campusconnect.service.CheckInService;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/tickets/checkin")
+public class CheckInController {
+    private static final Logger log = LoggerFactory.getLogger(CheckInController.class);
+
+    private final JwtService jwtService;
+    private final CheckInService checkIns;
+
+    public CheckInController(JwtService jwtService, CheckInService checkIns) {
+        this.jwtService = jwtService;
+        this.checkIns = checkIns;
+    }
+
+    @PostMapping
+    public ResponseEntity<?> checkIn(@RequestBody @Valid CheckInRequest req, Authentication auth) {
+        // Signature check only; no ticket lookup
+        TicketToken token = jwtService.verifyTicketToken(req.getToken());
+        if (token == null) {
+            log.warn("Check-in rejected - Invalid ticket token");
+            return ResponseEntity.badRequest().body(Map.of("status", "INVALID", "message", "Invalid ticket"));
+        }
+
+        String clubId = String.valueOf(auth.getPrincipal());
+        var result = checkIns.admit(token, clubId, req.getEventId());
+        if (result.isEmpty()) {
+            log.warn("Check-in rejected - ClubId {} does not own EventId {}", clubId, token.eventId());
+            return ResponseEntity.status(403).body(Map.of("message", "You don't have permission to check in this event"));
+        }
+
+        var r = result.get();
+        log.debug("Check-in - TicketId: {}, EventId: {}, Outcome: {}", r.ticketId(), r.eventId(), r.outcome());
+        return ResponseEntity.ok(r);
+    }
+}
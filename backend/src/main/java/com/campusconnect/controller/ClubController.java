@@ -3,11 +3,14 @@ package com.campusconnect.controller;
 import com.campusconnect.dto.*;
 import com.campusconnect.model.Club;
 import com.campusconnect.repository.ClubRepository;
+import com.campusconnect.repository.EventRepository;
 import com.campusconnect.security.JwtService;
+import com.campusconnect.service.InvalidationBus;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
@@ -21,11 +24,16 @@ public class ClubController {
     private final ClubRepository clubRepo;
     private final BCryptPasswordEncoder encoder;
     private final JwtService jwtService;
+    private final InvalidationBus bus;
+    private final EventRepository eventRepo;
 
-    public ClubController(ClubRepository clubRepo, BCryptPasswordEncoder encoder, JwtService jwtService) {
+    public ClubController(ClubRepository clubRepo, BCryptPasswordEncoder encoder, JwtService jwtService,
+                          EventRepository eventRepo, InvalidationBus bus) {
         this.clubRepo = clubRepo;
         this.encoder = encoder;
         this.jwtService = jwtService;
+        this.bus = bus;
+        this.eventRepo = eventRepo;
     }
 
     @PostMapping("/register")
@@ -39,6 +47,7 @@ public class ClubController {
         
         Club club = new Club(null, req.getClubName(), req.getEmail(), encoder.encode(req.getPassword()));
         club = clubRepo.save(club);
+        bus.accountChanged(club.getEmail());
         String token = jwtService.generateToken(club);
         
         log.info("Club registered successfully - ClubId: {}, Email: {}, ClubName: {}", 
@@ -77,4 +86,23 @@ public class ClubController {
                 "role", "club"
         ));
     }
+
+    @GetMapping("/dashboard")
+    public ResponseEntity<?> dashboard(Authentication auth) {
+        // Get clubId from JWT
+        String clubId = null;
+        if (auth != null && auth.isAuthenticated() && auth.getPrincipal() != null) {
+            clubId = String.valueOf(auth.getPrincipal());
+        }
+
+        if (clubId == null || clubId.isBlank()) {
+            log.warn("Club dashboard failed - Missing club identity");
+            return ResponseEntity.status(401).body(Map.of("message", "Unauthorized"));
+        }
+
+        log.info("Fetching club dashboard - ClubId: {}", clubId);
+        var stats = eventRepo.findClubDashboard(clubId);
+        log.info("Club dashboard retrieved - ClubId: {}, Events: {}", clubId, stats.size());
+        return ResponseEntity.ok(stats);
+    }
 }
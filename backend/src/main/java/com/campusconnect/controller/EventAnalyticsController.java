@@ -0,0 +1,56 @@
+package com.campusconnect.controller;
+
+import com.campusconnect.model.Event;
+import com.campusconnect.repository.EventRepository;
+import com.campusconnect.service.BookingAnalyticsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/events")
+public class EventAnalyticsController {
+    private static final Logger log = LoggerFactory.getLogger(EventAnalyticsController.class);
+
+    private final EventRepository eventRepo;
+    private final BookingAnalyticsService analytics;
+
+    public EventAnalyticsController(EventRepository eventRepo, BookingAnalyticsService analytics) {
+        this.eventRepo = eventRepo;
+        this.analytics = analytics;
+    }
+
+    // Answered from the per-day analytics documents; never scans tickets
+    @GetMapping("/{id}/analytics")
+    public ResponseEntity<?> analytics(@PathVariable String id,
+                                       @RequestParam(defaultValue = "1") int resolution,
+                                       Authentication auth) {
+        String clubId = auth != null && auth.getPrincipal() != null ? String.valueOf(auth.getPrincipal()) : null;
+
+        Optional<Event> eventOpt = eventRepo.findLiveById(id);
+        if (eventOpt.isEmpty()) {
+            log.warn("Event analytics failed - Event not found: {}", id);
+            return ResponseEntity.status(404).body(Map.of("message", "Event not found"));
+        }
+        Event event = eventOpt.get();
+        if (!event.getClubId().equals(clubId)) {
+            log.warn("Event analytics failed - Unauthorized: ClubId {} does not own EventId {}", clubId, id);
+            return ResponseEntity.status(403).body(Map.of("message", "You don't have permission to view this event"));
+        }
+        if (resolution < 1 || resolution > 1440) {
+            return ResponseEntity.badRequest().body(Map.of("message", "resolution must be between 1 and 1440 minutes"));
+        }
+
+        int capacity = event.getCapacity() == null ? 0 : event.getCapacity();
+        var report = analytics.report(id, capacity, resolution);
+        if (report.isEmpty()) {
+            return ResponseEntity.ok(Map.of("eventId", id, "capacity", capacity, "booked", 0, "cancelled", 0));
+        }
+        return ResponseEntity.ok(report.get());
+    }
+}
@@ -1,9 +1,21 @@
 package com.campusconnect.controller;
 
 import com.campusconnect.dto.EventCreateRequest;
+import com.campusconnect.journal.BookingJournal;
 import com.campusconnect.model.Event;
 import com.campusconnect.repository.ClubRepository;
 import com.campusconnect.repository.EventRepository;
+import com.campusconnect.repository.ProjectionRepository;
+import com.campusconnect.resilience.DatabaseUnavailableException;
+import com.campusconnect.service.AttendeeService;
+import com.campusconnect.service.BookingAnalyticsService;
+import com.campusconnect.service.CheckInService;
+import com.campusconnect.service.EventCatalogCache;
+import com.campusconnect.service.EventChangeFeed;
+import com.campusconnect.service.EventSchedule;
+import com.campusconnect.service.ExportJobService;
+import com.campusconnect.service.InvalidationBus;
+import com.campusconnect.service.TrendingService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,6 +23,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 @RestController
@@ -20,24 +34,127 @@ public class EventController {
     
     private final EventRepository eventRepo;
     private final ClubRepository clubRepo;
+    private final ProjectionRepository projectionRepo;
+    private final ExportJobService exportJobs;
+    private final EventSchedule schedule;
+    private final EventCatalogCache catalogCache;
+    private final CheckInService checkIns;
+    private final AttendeeService attendees;
+    private final TrendingService trending;
+    private final BookingJournal journal;
+    private final BookingAnalyticsService analytics;
+    private final InvalidationBus bus;
+    private final EventChangeFeed changeFeed;
 
-    public EventController(EventRepository eventRepo, ClubRepository clubRepo) {
+    public EventController(EventRepository eventRepo, ClubRepository clubRepo, ProjectionRepository projectionRepo,
+                           ExportJobService exportJobs, EventSchedule schedule, EventCatalogCache catalogCache,
+                           CheckInService checkIns, AttendeeService attendees, TrendingService trending,
+                           BookingJournal journal, BookingAnalyticsService analytics,
+                           InvalidationBus bus, EventChangeFeed changeFeed) {
         this.eventRepo = eventRepo;
         this.clubRepo = clubRepo;
+        this.projectionRepo = projectionRepo;
+        this.exportJobs = exportJobs;
+        this.schedule = schedule;
+        this.catalogCache = catalogCache;
+        this.checkIns = checkIns;
+        this.attendees = attendees;
+        this.trending = trending;
+        this.journal = journal;
+        this.analytics = analytics;
+        this.bus = bus;
+        this.changeFeed = changeFeed;
     }
 
     @GetMapping
-    public ResponseEntity<?> listAll() {
+    public ResponseEntity<?> listAll(@RequestParam(required = false) String fields,
+                                     @RequestParam(required = false) String view,
+                                     @RequestParam(required = false) String when,
+                                     @RequestHeader(value = "Accept-Encoding", required = false) String acceptEncoding,
+                                     @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
         log.info("Fetching all events");
-        var events = eventRepo.findAll();
+        
+        // Optional time filter: "upcoming" or "past", answered from the startsAt index
+        if (when != null && !when.equals("upcoming") && !when.equals("past")) {
+            log.warn("Event listing failed - Invalid when: {}", when);
+            return ResponseEntity.badRequest().body(java.util.Map.of("message", "when must be 'upcoming' or 'past'"));
+        }
+        boolean upcoming = "upcoming".equals(when);
+        Instant now = Instant.now();
+        
+        // Sparse fieldset requested: project in Mongo instead of loading full documents
+        List<String> selected;
+        try {
+            selected = ProjectionRepository.resolve(Event.class, fields, view);
+        } catch (IllegalArgumentException ex) {
+            log.warn("Event listing failed - {}", ex.getMessage());
+            return ResponseEntity.badRequest().body(java.util.Map.of("message", ex.getMessage()));
+        }
+        if (selected != null) {
+            var rows = when == null
+                    ? projectionRepo.findEvents(selected)
+                    : projectionRepo.findEvents(selected, upcoming, now);
+            log.info("Retrieved {} events (fields: {})", rows.size(), selected);
+            return ResponseEntity.ok(rows);
+        }
+        
+        // Plain listing: serve the pre-serialized body when the cache is warm
+        if (when == null) {
+            var cached = catalogCache.listing();
+            if (cached != null) {
+                return EventCatalogCache.toResponse(cached, acceptEncoding, ifNoneMatch);
+            }
+        }
+        
+        List<Event> events;
+        try {
+            events = when == null
+                    ? eventRepo.findAllLive()
+                    : upcoming ? eventRepo.findUpcoming(now) : eventRepo.findPast(now);
+        } catch (DatabaseUnavailableException ex) {
+            // Degraded mode: fall back to the last catalogue we serialized, if any
+            var stale = when == null ? catalogCache.staleListing() : null;
+            if (stale == null) throw ex;
+            log.warn("Serving cached event listing - {}", ex.getMessage());
+            return EventCatalogCache.toResponse(stale, acceptEncoding, ifNoneMatch);
+        }
         log.info("Retrieved {} events", events.size());
         return ResponseEntity.ok(events);
     }
 
+    /**
+     * Delta sync: omit {@code since} for a full snapshot, then pass back the
+     * returned {@code seq} to receive only what changed.
+     */
+    @GetMapping("/sync")
+    public ResponseEntity<?> sync(@RequestParam(required = false) Long since) {
+        if (since != null && since < 0) {
+            return ResponseEntity.badRequest().body(java.util.Map.of("message", "since must be >= 0"));
+        }
+        var result = changeFeed.sync(since);
+        log.info("Event sync - Since: {}, Mode: {}, Seq: {}, Events: {}, Deleted: {}",
+                since, result.getMode(), result.getSeq(), result.getEvents().size(), result.getDeleted().size());
+        return ResponseEntity.ok(result);
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<?> getOne(@PathVariable String id) {
+    public ResponseEntity<?> getOne(@PathVariable String id,
+                                    @RequestHeader(value = "Accept-Encoding", required = false) String acceptEncoding,
+                                    @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
         log.info("Fetching event details - EventId: {}", id);
-        Optional<Event> e = eventRepo.findById(id);
+        var cached = catalogCache.event(id);
+        if (cached != null) {
+            return EventCatalogCache.toResponse(cached, acceptEncoding, ifNoneMatch);
+        }
+        Optional<Event> e;
+        try {
+            e = eventRepo.findLiveById(id);
+        } catch (DatabaseUnavailableException ex) {
+            var stale = catalogCache.staleEvent(id);
+            if (stale == null) throw ex;
+            log.warn("Serving cached event - EventId: {}, {}", id, ex.getMessage());
+            return EventCatalogCache.toResponse(stale, acceptEncoding, ifNoneMatch);
+        }
         if (e.isPresent()) {
             log.info("Event found - EventId: {}, Name: {}", id, e.get().getName());
             return ResponseEntity.ok(e.get());
@@ -67,7 +184,7 @@ public class EventController {
             return ResponseEntity.status(401).body(java.util.Map.of("message", "Unauthorized: missing club identity"));
         }
 
-        var clubOpt = clubRepo.findById(clubId);
+        var clubOpt = clubRepo.findOneById(clubId);
         if (clubOpt.isEmpty()) {
             log.warn("Event creation failed - Invalid clubId: {}", clubId);
             return ResponseEntity.badRequest().body(java.util.Map.of("message", "Invalid clubId"));
@@ -80,12 +197,22 @@ public class EventController {
                 req.getDescription(),
                 req.getDate(),
                 req.getTime(),
+                schedule.startOf(req.getDate(), req.getTime()),
                 req.getVenue(),
                 req.getCapacity(),
                 club.getId(),
-                club.getClubName()
+                club.getClubName(),
+                false,
+                attendees.bucketedFor(req.getCapacity()),
+                null,
+                null,
+                null
         );
+        changeFeed.stamp(e);
         e = eventRepo.save(e);
+        catalogCache.invalidate();
+        journal.eventCreated(e);
+        bus.eventChanged(e.getId());
         
         log.info("Event created successfully - EventId: {}, EventName: {}, ClubId: {}, ClubName: {}, Capacity: {}", 
                 e.getId(), e.getName(), club.getId(), club.getClubName(), e.getCapacity());
@@ -108,7 +235,7 @@ public class EventController {
             return ResponseEntity.status(401).body(java.util.Map.of("message", "Unauthorized"));
         }
 
-        Optional<Event> eventOpt = eventRepo.findById(id);
+        Optional<Event> eventOpt = eventRepo.findLiveById(id);
         if (eventOpt.isEmpty()) {
             log.warn("Event update failed - Event not found: {}", id);
             return ResponseEntity.status(404).body(java.util.Map.of("message", "Event not found"));
@@ -127,10 +254,16 @@ public class EventController {
         event.setDescription(req.getDescription());
         event.setDate(req.getDate());
         event.setTime(req.getTime());
+        event.setStartsAt(schedule.startOf(req.getDate(), req.getTime()));
         event.setVenue(req.getVenue());
         event.setCapacity(req.getCapacity());
+        changeFeed.stamp(event);
         
         event = eventRepo.save(event);
+        exportJobs.invalidate(event.getId());
+        catalogCache.invalidate();
+        journal.eventUpdated(event);
+        bus.eventChanged(event.getId());
         
         log.info("Event updated successfully - EventId: {}, EventName: {}, ClubId: {}", 
                 event.getId(), event.getName(), clubId);
@@ -153,7 +286,7 @@ public class EventController {
             return ResponseEntity.status(401).body(java.util.Map.of("message", "Unauthorized"));
         }
 
-        Optional<Event> eventOpt = eventRepo.findById(id);
+        Optional<Event> eventOpt = eventRepo.findLiveById(id);
         if (eventOpt.isEmpty()) {
             log.warn("Event deletion failed - Event not found: {}", id);
             return ResponseEntity.status(404).body(java.util.Map.of("message", "Event not found"));
@@ -167,9 +300,19 @@ public class EventController {
             return ResponseEntity.status(403).body(java.util.Map.of("message", "You don't have permission to delete this event"));
         }
 
-        eventRepo.deleteById(id);
+        // Soft-delete now; EventCleanupService removes the tickets and the event in the background
+        event.setDeleted(true);
+        changeFeed.stamp(event);
+        eventRepo.save(event);
+        exportJobs.invalidate(id);
+        catalogCache.invalidate();
+        checkIns.evict(id);
+        trending.removeEvent(id);
+        journal.eventDeleted(event);
+        analytics.removeEvent(id);
+        bus.eventDeleted(id);
         
-        log.info("Event deleted successfully - EventId: {}, ClubId: {}", id, clubId);
+        log.info("Event deleted successfully - EventId: {}, ClubId: {} (ticket cleanup queued)", id, clubId);
         
         return ResponseEntity.ok(java.util.Map.of("message", "Event deleted successfully"));
     }
@@ -0,0 +1,141 @@
+package com.campusconnect.controller;
+
+import com.campusconnect.repository.EventRepository;
+import com.campusconnect.service.ExportJob;
+import com.campusconnect.service.ExportJobService;
+import com.campusconnect.service.TicketWorkbookWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+@RestController
+@RequestMapping("/tickets/export")
+public class ExportJobController {
+    private static final Logger log = LoggerFactory.getLogger(ExportJobController.class);
+
+    // Tomcat's sendfile hand-off: the connector streams the file with zero-copy I/O
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final ExportJobService exportJobs;
+    private final EventRepository eventRepo;
+
+    public ExportJobController(ExportJobService exportJobs, EventRepository eventRepo) {
+        this.exportJobs = exportJobs;
+        this.eventRepo = eventRepo;
+    }
+
+    @PostMapping("/{eventId}/jobs")
+    public ResponseEntity<?> submit(@PathVariable String eventId) {
+        log.info("Export job request - EventId: {}", eventId);
+
+        if (eventRepo.findLiveById(eventId).isEmpty()) {
+            log.warn("Export job failed - Event not found: {}", eventId);
+            return ResponseEntity.status(404).body(Map.of("message", "Event not found"));
+        }
+
+        try {
+            ExportJob job = exportJobs.submit(eventId);
+            return ResponseEntity.accepted().body(job);
+        } catch (RejectedExecutionException e) {
+            log.warn("Export job rejected - queue full, EventId: {}", eventId);
+            return ResponseEntity.status(503).body(Map.of("message", "Export queue is full, try again shortly"));
+        }
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<?> status(@PathVariable String jobId) {
+        return exportJobs.find(jobId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(404).body(Map.of("message", "Export job not found")));
+    }
+
+    @GetMapping("/jobs/{jobId}/download")
+    public void download(@PathVariable String jobId, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        var jobOpt = exportJobs.find(jobId);
+        if (jobOpt.isEmpty() || jobOpt.get().getStatus() != ExportJob.Status.DONE) {
+            log.warn("Export download failed - Job not found or not finished: {}", jobId);
+            response.setStatus(jobOpt.isEmpty() ? 404 : 409);
+            return;
+        }
+        ExportJob job = jobOpt.get();
+        long length = job.getSize();
+
+        response.setHeader("Accept-Ranges", "bytes");
+        response.setHeader("ETag", "\"" + job.getId() + "\"");
+        response.setHeader("Content-Disposition", "attachment; filename=\"" + job.getFileName() + "\"");
+        response.setContentType(TicketWorkbookWriter.CONTENT_TYPE);
+
+        // Single byte range only; multi-range requests get the whole file, which RFC 9110 allows
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader("Range");
+        String ifRange = request.getHeader("If-Range");
+        boolean rangeApplies = range != null && range.startsWith("bytes=") && !range.contains(",")
+                && (ifRange == null || ifRange.equals("\"" + job.getId() + "\""));
+        if (rangeApplies) {
+            long[] r = parseRange(range.substring(6).trim(), length);
+            if (r == null) {
+                response.setHeader("Content-Range", "bytes */" + length);
+                response.setStatus(416);
+                return;
+            }
+            start = r[0];
+            end = r[1];
+            response.setStatus(206);
+            response.setHeader("Content-Range", "bytes " + start + "-" + end + "/" + length);
+        }
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, job.getFile().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        try (FileChannel file = FileChannel.open(job.getFile(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long pos = start;
+            while (pos <= end) {
+                pos += file.transferTo(pos, end + 1 - pos, out);
+            }
+        }
+    }
+
+    // Returns {start, end} inclusive, or null if unsatisfiable
+    private static long[] parseRange(String spec, long length) {
+        int dash = spec.indexOf('-');
+        if (dash < 0 || length == 0) return null;
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            if (first.isEmpty()) {
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0) return null;
+                return new long[]{Math.max(0, length - suffix), length - 1};
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? length - 1 : Math.min(Long.parseLong(last), length - 1);
+            if (start > end || start >= length) return null;
+            return new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.campusconnect.dto.StudentRegisterRequest;
 import com.campusconnect.model.Student;
 import com.campusconnect.repository.StudentRepository;
 import com.campusconnect.security.JwtService;
+import com.campusconnect.service.InvalidationBus;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,11 +23,13 @@ public class StudentController {
     private final StudentRepository studentRepo;
     private final BCryptPasswordEncoder encoder;
     private final JwtService jwtService;
+    private final InvalidationBus bus;
 
-    public StudentController(StudentRepository studentRepo, BCryptPasswordEncoder encoder, JwtService jwtService) {
+    public StudentController(StudentRepository studentRepo, BCryptPasswordEncoder encoder, JwtService jwtService, InvalidationBus bus) {
         this.studentRepo = studentRepo;
         this.encoder = encoder;
         this.jwtService = jwtService;
+        this.bus = bus;
     }
 
     @PostMapping("/register")
@@ -47,6 +50,7 @@ public class StudentController {
         Student student = new Student(null, req.getName(), req.getRbtNumber(), 
                 req.getEmail(), encoder.encode(req.getPassword()));
         student = studentRepo.save(student);
+        bus.accountChanged(student.getEmail());
         String token = jwtService.generateTokenForStudent(student);
         
         log.info("Student registered successfully - StudentId: {}, Email: {}, RBT: {}, Name: {}", 
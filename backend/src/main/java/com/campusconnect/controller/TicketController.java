@@ -1,25 +1,34 @@
 package com.campusconnect.controller;
 
+import com.campusconnect.dto.MyTicketView;
+import com.campusconnect.dto.MyTicketsPage;
 import com.campusconnect.dto.TicketBookRequest;
 import com.campusconnect.model.Ticket;
 import com.campusconnect.repository.EventRepository;
+import com.campusconnect.repository.ProjectionRepository;
 import com.campusconnect.repository.StudentRepository;
 import com.campusconnect.repository.TicketRepository;
+import com.campusconnect.resilience.DatabaseUnavailableException;
 import com.campusconnect.security.JwtService;
+import com.campusconnect.service.AttendeeService;
+import com.campusconnect.service.TicketLifecycle;
+import com.campusconnect.service.TicketWorkbookWriter;
+import com.campusconnect.service.TicketWriter;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.bson.types.ObjectId;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 
 @RestController
 @RequestMapping("/tickets")
@@ -30,13 +39,26 @@ public class TicketController {
     private final EventRepository eventRepo;
     private final StudentRepository studentRepo;
     private final JwtService jwtService;
+    private final ProjectionRepository projectionRepo;
+    private final TicketWorkbookWriter workbookWriter;
+    private final AttendeeService attendees;
+    private final TicketWriter ticketWriter;
+    private final TicketLifecycle ticketLifecycle;
 
     public TicketController(TicketRepository ticketRepo, EventRepository eventRepo, 
-                           StudentRepository studentRepo, JwtService jwtService) {
+                           StudentRepository studentRepo, JwtService jwtService,
+                           ProjectionRepository projectionRepo, TicketWorkbookWriter workbookWriter,
+                           AttendeeService attendees, TicketWriter ticketWriter,
+                           TicketLifecycle ticketLifecycle) {
         this.ticketRepo = ticketRepo;
         this.eventRepo = eventRepo;
         this.studentRepo = studentRepo;
         this.jwtService = jwtService;
+        this.projectionRepo = projectionRepo;
+        this.workbookWriter = workbookWriter;
+        this.attendees = attendees;
+        this.ticketWriter = ticketWriter;
+        this.ticketLifecycle = ticketLifecycle;
     }
 
     @PostMapping("/book")
@@ -65,7 +87,7 @@ public class TicketController {
             }
             
             // Get full student details from database
-            var studentOpt = studentRepo.findById(studentId);
+            var studentOpt = studentRepo.findOneById(studentId);
             if (studentOpt.isEmpty()) {
                 log.warn("Ticket booking failed - Student not found in database. StudentId: {}", studentId);
                 return ResponseEntity.status(404).body(java.util.Map.of("message", "Student not found"));
@@ -76,7 +98,7 @@ public class TicketController {
                     req.getEventId(), student.getId(), student.getName(), student.getEmail());
             
             // Check if event exists
-            var evtOpt = eventRepo.findById(req.getEventId());
+            var evtOpt = eventRepo.findLiveById(req.getEventId());
             if (evtOpt.isEmpty()) {
                 log.warn("Ticket booking failed - Invalid eventId: {}", req.getEventId());
                 return ResponseEntity.badRequest().body(java.util.Map.of("message", "Invalid eventId"));
@@ -102,21 +124,37 @@ public class TicketController {
             }
 
             // Create and save ticket
+            // Id is assigned up front so the check-in token can be signed before the insert
+            String ticketId = new ObjectId().toHexString();
             var ticket = new Ticket(
-                    null,
+                    ticketId,
                     evt.getId(),
                     evt.getName(),
                     student.getName(),
                     student.getEmail(),
-                    LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)
+                    LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME),
+                    jwtService.generateTicketToken(ticketId, evt.getId())
             );
-            ticket = ticketRepo.save(ticket);
+            // Group-committed with concurrent bookings; see TicketWriter
+            try {
+                ticket = ticketWriter.insert(ticket);
+            } catch (DuplicateKeyException e) {
+                log.warn("Ticket booking failed - Duplicate ticket for EventId: {}", req.getEventId());
+                return ResponseEntity.badRequest().body(java.util.Map.of("message", "You already have a ticket for this event"));
+            } catch (DataAccessException e) {
+                log.error("Ticket booking failed - Write rejected for EventId: {}: {}", req.getEventId(), e.getMessage());
+                return ResponseEntity.status(500).body(java.util.Map.of("message", "Booking failed, please try again"));
+            }
+            // Committed: from here on the booking stands, side-effect failures are only logged
+            ticketLifecycle.booked(evt, ticket);
             
             log.info("Ticket booked successfully - TicketId: {}, EventId: {}, EventName: {}, Student: {}, Email: {}", 
                     ticket.getId(), evt.getId(), evt.getName(), student.getName(), student.getEmail());
             
             return ResponseEntity.ok(ticket);
             
+        } catch (DatabaseUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Ticket booking failed - JWT parsing error: {}", e.getMessage());
             return ResponseEntity.status(401).body(java.util.Map.of("message", "Invalid authentication token"));
@@ -124,7 +162,9 @@ public class TicketController {
     }
 
     @GetMapping("/my-tickets")
-    public ResponseEntity<?> getMyTickets(HttpServletRequest request) {
+    public ResponseEntity<?> getMyTickets(@RequestParam(required = false) String fields,
+                                          @RequestParam(required = false) String view,
+                                          HttpServletRequest request) {
         // Extract JWT token from Authorization header
         String authHeader = request.getHeader("Authorization");
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -134,6 +174,14 @@ public class TicketController {
         
         String token = authHeader.substring(7);
         
+        List<String> selected;
+        try {
+            selected = ProjectionRepository.resolve(Ticket.class, fields, view);
+        } catch (IllegalArgumentException ex) {
+            log.warn("Get my tickets failed - {}", ex.getMessage());
+            return ResponseEntity.badRequest().body(java.util.Map.of("message", ex.getMessage()));
+        }
+        
         try {
             // Parse JWT token to get student info
             var claims = jwtService.parse(token).getBody();
@@ -147,7 +195,7 @@ public class TicketController {
             }
             
             // Get student email from database
-            var studentOpt = studentRepo.findById(studentId);
+            var studentOpt = studentRepo.findOneById(studentId);
             if (studentOpt.isEmpty()) {
                 log.warn("Get my tickets failed - Student not found in database. StudentId: {}", studentId);
                 return ResponseEntity.status(404).body(java.util.Map.of("message", "Student not found"));
@@ -155,27 +203,114 @@ public class TicketController {
             
             String email = studentOpt.get().getEmail();
             log.info("Fetching tickets for student: {} ({})", studentId, email);
+            if (selected != null) {
+                var rows = projectionRepo.findTicketsByEmail(email, selected);
+                log.info("Found {} tickets for student: {} (fields: {})", rows.size(), email, selected);
+                return ResponseEntity.ok(rows);
+            }
             var tickets = ticketRepo.findByEmail(email);
+            // Tickets booked before QR tokens existed get theirs on the fly
+            tickets.stream()
+                    .filter(t -> t.getQrToken() == null)
+                    .forEach(t -> t.setQrToken(jwtService.generateTicketToken(t.getId(), t.getEventId())));
             log.info("Found {} tickets for student: {}", tickets.size(), email);
             return ResponseEntity.ok(tickets);
             
+        } catch (DatabaseUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Get my tickets failed - JWT parsing error: {}", e.getMessage());
             return ResponseEntity.status(401).body(java.util.Map.of("message", "Invalid authentication token"));
         }
     }
 
+    /**
+     * Student dashboard: the caller's tickets with their current event details
+     * and remaining seats, ordered by event start. One query here: the email comes from the
+     * verified token, and the student itself was already loaded by JwtAuthFilter.
+     */
+    @GetMapping("/my-tickets/events")
+    public ResponseEntity<?> getMyTicketsWithEvents(@RequestParam(defaultValue = "0") int page,
+                                                    @RequestParam(defaultValue = "20") int size,
+                                                    HttpServletRequest request) {
+        String authHeader = request.getHeader("Authorization");
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            log.warn("Get my ticket events failed - No valid JWT token provided");
+            return ResponseEntity.status(401).body(java.util.Map.of("message", "Authentication required"));
+        }
+        if (page < 0 || size < 1 || size > 100) {
+            return ResponseEntity.badRequest().body(java.util.Map.of("message", "page must be >= 0 and size between 1 and 100"));
+        }
+
+        try {
+            var claims = jwtService.parse(authHeader.substring(7)).getBody();
+            String studentId = claims.getSubject();
+            String role = claims.get("role", String.class);
+            if (!"student".equals(role)) {
+                log.warn("Get my ticket events failed - User is not a student. Role: {}", role);
+                return ResponseEntity.status(403).body(java.util.Map.of("message", "Only students can view their tickets"));
+            }
+
+            // JwtAuthFilter has already loaded the student; the signed email claim saves a second lookup
+            String email = claims.get("email", String.class);
+            if (email == null || email.isBlank()) {
+                log.warn("Get my ticket events failed - Token has no email claim. StudentId: {}", studentId);
+                return ResponseEntity.status(401).body(java.util.Map.of("message", "Invalid authentication token"));
+            }
+            MyTicketsPage result = ticketRepo.findMyTicketsPage(email, (long) page * size, size);
+            if (result == null) {
+                result = new MyTicketsPage();
+                result.setItems(List.of());
+            }
+            result.setPage(page);
+            result.setSize(size);
+            Instant now = Instant.now();
+            for (MyTicketView t : result.getItems()) {
+                if (t.getQrToken() == null) {
+                    t.setQrToken(jwtService.generateTicketToken(t.getTicketId(), t.getEventId()));
+                }
+                if (t.getStartsAt() != null) {
+                    t.setStatus(t.getStartsAt().isBefore(now) ? "past" : "upcoming");
+                }
+            }
+            log.info("Found {} of {} ticket events for student: {} (page {})", result.getItems().size(), result.getTotal(), email, page);
+            return ResponseEntity.ok(result);
+
+        } catch (DatabaseUnavailableException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Get my ticket events failed - JWT parsing error: {}", e.getMessage());
+            return ResponseEntity.status(401).body(java.util.Map.of("message", "Invalid authentication token"));
+        }
+    }
+
     @GetMapping("/event/{eventId}/attendees")
-    public ResponseEntity<?> getEventAttendees(@PathVariable String eventId) {
+    public ResponseEntity<?> getEventAttendees(@PathVariable String eventId,
+                                               @RequestParam(required = false) String fields,
+                                               @RequestParam(required = false) String view) {
         log.info("Fetching attendees for event: {}", eventId);
         
-        var evtOpt = eventRepo.findById(eventId);
+        List<String> selected;
+        try {
+            selected = ProjectionRepository.resolve(Ticket.class, fields, view);
+        } catch (IllegalArgumentException ex) {
+            log.warn("Fetching attendees failed - {}", ex.getMessage());
+            return ResponseEntity.badRequest().body(java.util.Map.of("message", ex.getMessage()));
+        }
+        
+        var evtOpt = eventRepo.findLiveById(eventId);
         if (evtOpt.isEmpty()) {
             log.warn("Event not found: {}", eventId);
             return ResponseEntity.notFound().build();
         }
         
-        var tickets = ticketRepo.findByEventId(eventId);
+        if (selected != null) {
+            var rows = projectionRepo.findTicketsByEventId(eventId, selected);
+            log.info("Found {} attendees for event '{}' (fields: {})", rows.size(), evtOpt.get().getName(), selected);
+            return ResponseEntity.ok(rows);
+        }
+        
+        var tickets = attendees.list(evtOpt.get());
         log.info("Found {} attendees for event '{}'", tickets.size(), evtOpt.get().getName());
         return ResponseEntity.ok(tickets);
     }
@@ -184,40 +319,23 @@ public class TicketController {
     public void export(@PathVariable String eventId, HttpServletResponse response) {
         log.info("Ticket export request - EventId: {}", eventId);
         
-        var evtOpt = eventRepo.findById(eventId);
+        var evtOpt = eventRepo.findLiveById(eventId);
         if (evtOpt.isEmpty()) {
             log.warn("Ticket export failed - Event not found: {}", eventId);
             response.setStatus(404);
             return;
         }
         var evt = evtOpt.get();
-        var tickets = ticketRepo.findByEventId(eventId);
+        var tickets = attendees.list(evt);
         
         log.info("Exporting {} tickets for event '{}' (EventId: {})", 
                 tickets.size(), evt.getName(), eventId);
 
-        try (Workbook wb = new XSSFWorkbook()) {
-            Sheet sheet = wb.createSheet("Tickets");
-            int rowIdx = 0;
-            Row header = sheet.createRow(rowIdx++);
-            String[] cols = {"Ticket ID", "Event ID", "Event Name", "Student Name", "Email", "Booking Time"};
-            for (int i = 0; i < cols.length; i++) header.createCell(i).setCellValue(cols[i]);
-
-            for (var t : tickets) {
-                Row r = sheet.createRow(rowIdx++);
-                r.createCell(0).setCellValue(t.getId());
-                r.createCell(1).setCellValue(t.getEventId());
-                r.createCell(2).setCellValue(t.getEventName());
-                r.createCell(3).setCellValue(t.getStudentName());
-                r.createCell(4).setCellValue(t.getEmail());
-                r.createCell(5).setCellValue(t.getBookingTime());
-            }
-            for (int i = 0; i < cols.length; i++) sheet.autoSizeColumn(i);
-
-            String filename = "event-" + URLEncoder.encode(evt.getName().replace(" ", "_"), StandardCharsets.UTF_8) + "-tickets.xlsx";
+        try {
+            String filename = workbookWriter.fileName(evt);
             response.setHeader("Content-Disposition", "attachment; filename=\"" + filename + "\"");
-            response.setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
-            wb.write(response.getOutputStream());
+            response.setContentType(TicketWorkbookWriter.CONTENT_TYPE);
+            workbookWriter.write(tickets, response.getOutputStream());
             response.flushBuffer();
             
             log.info("Ticket export completed successfully - EventId: {}, EventName: {}, TicketCount: {}", 
@@ -255,7 +373,7 @@ public class TicketController {
             }
             
             // Get student email from database
-            var studentOpt = studentRepo.findById(studentId);
+            var studentOpt = studentRepo.findOneById(studentId);
             if (studentOpt.isEmpty()) {
                 log.warn("Ticket cancellation failed - Student not found in database. StudentId: {}", studentId);
                 return ResponseEntity.status(404).body(java.util.Map.of("message", "Student not found"));
@@ -263,7 +381,7 @@ public class TicketController {
             
             String email = studentOpt.get().getEmail();
             
-            var ticketOpt = ticketRepo.findById(ticketId);
+            var ticketOpt = ticketRepo.findOneById(ticketId);
             if (ticketOpt.isEmpty()) {
                 log.warn("Ticket cancellation failed - Ticket not found: {}", ticketId);
                 return ResponseEntity.status(404).body(java.util.Map.of("message", "Ticket not found"));
@@ -279,12 +397,15 @@ public class TicketController {
             }
 
             ticketRepo.deleteById(ticketId);
+            ticketLifecycle.cancelled(ticket);
             
             log.info("Ticket cancelled successfully - TicketId: {}, EventId: {}, EventName: {}, Email: {}", 
                     ticketId, ticket.getEventId(), ticket.getEventName(), email);
             
             return ResponseEntity.ok(java.util.Map.of("message", "Ticket cancelled successfully"));
             
+        } catch (DatabaseUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Ticket cancellation failed - JWT parsing error: {}", e.getMessage());
             return ResponseEntity.status(401).body(java.util.Map.of("message", "Invalid authentication token"));
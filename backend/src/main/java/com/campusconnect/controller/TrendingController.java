@@ -0,0 +1,27 @@
+package com.campusconnect.controller;
+
+import com.campusconnect.service.TrendingService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/events/trending")
+public class TrendingController {
+    private final TrendingService trending;
+
+    public TrendingController(TrendingService trending) {
+        this.trending = trending;
+    }
+
+    @GetMapping
+    public ResponseEntity<?> top(@RequestParam(defaultValue = "1h") String window,
+                                 @RequestParam(defaultValue = "10") int limit) {
+        var w = TrendingService.Window.of(window);
+        if (w.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("message", "window must be one of 5m, 1h, 24h"));
+        }
+        return ResponseEntity.ok(trending.top(w.get(), Math.max(1, limit)));
+    }
+}
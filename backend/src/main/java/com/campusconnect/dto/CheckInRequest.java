@@ -0,0 +1,11 @@
+package com.campusconnect.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class CheckInRequest {
+    @NotBlank private String token;
+    // Optional: the event this entrance is admitting to; other events' tickets are rejected
+    private String eventId;
+}
@@ -0,0 +1,19 @@
+package com.campusconnect.dto;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+
+@Data
+public class ClubEventStats {
+    @Id
+    private String id;
+    private String name;
+    private String date;
+    private String time;
+    private String venue;
+    private Integer capacity;
+    private long booked;
+    private Integer remaining;
+    private Double fillRate;         // booked / capacity, 0..1
+    private String latestBookingTime; // ISO_LOCAL_DATE_TIME, null if no bookings
+}
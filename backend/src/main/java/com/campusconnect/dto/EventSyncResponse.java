@@ -0,0 +1,23 @@
+package com.campusconnect.dto;
+
+import com.campusconnect.model.Event;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Result of {@code GET /events/sync}. In "snapshot" mode {@code events} is the
+ * whole live catalogue; in "delta" mode it holds only the changed events and
+ * {@code deleted} the ids to drop. Either way {@code seq} is the next {@code since}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventSyncResponse {
+    private String mode;
+    private long seq;
+    private List<Event> events;
+    private List<String> deleted;
+}
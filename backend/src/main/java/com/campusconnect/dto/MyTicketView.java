@@ -0,0 +1,23 @@
+package com.campusconnect.dto;
+
+import lombok.Data;
+
+import java.time.Instant;
+
+/** A student's ticket joined with the current state of its event. */
+@Data
+public class MyTicketView {
+    private String ticketId;
+    private String eventId;
+    private String bookingTime;
+    private String qrToken;
+    private String eventName;
+    private String date;
+    private String time;
+    private Instant startsAt;
+    private String venue;
+    private String clubName;
+    private Integer capacity;
+    private Integer remaining;
+    private String status; // "upcoming" or "past"
+}
@@ -0,0 +1,13 @@
+package com.campusconnect.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class MyTicketsPage {
+    private long total;
+    private int page;
+    private int size;
+    private List<MyTicketView> items;
+}
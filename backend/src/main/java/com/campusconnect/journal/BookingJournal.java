@@ -0,0 +1,306 @@
+package com.campusconnect.journal;
+
+import com.campusconnect.model.Event;
+import com.campusconnect.model.Ticket;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Append-only journal of bookings, cancellations and event changes.
+ * Request threads only enqueue; a single writer thread assigns sequence
+ * numbers, appends to a memory-mapped segment file and forces each drained
+ * batch to disk with one fsync. Segments roll over at a fixed size and are
+ * never rewritten; closed segments past the retention age or count are
+ * deleted. See {@link JournalReader} for offline replay.
+ */
+@Service
+public class BookingJournal {
+    private static final Logger log = LoggerFactory.getLogger(BookingJournal.class);
+    private static final int MAX_BATCH = 1024;
+
+    private record Pending(long timestamp, JournalRecord.Type type, List<String> fields) {}
+
+    private final boolean enabled;
+    private final Path dir;
+    private final int segmentBytes;
+    private final boolean fsync;
+    private final long flushMs;
+    private final Duration retention;
+    private final int maxSegments;
+    private final BlockingQueue<Pending> queue;
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean running;
+    private volatile boolean failed;
+    private volatile long durableSeq;
+    private Thread writer;
+
+    // Writer-thread state
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private long nextSeq;
+
+    public BookingJournal(@Value("${app.journal.enabled:true}") boolean enabled,
+                          @Value("${app.journal.dir:./data/journal}") String dir,
+                          @Value("${app.journal.segment-mb:64}") int segmentMb,
+                          @Value("${app.journal.fsync:true}") boolean fsync,
+                          @Value("${app.journal.flush-ms:5}") long flushMs,
+                          @Value("${app.journal.queue-capacity:65536}") int queueCapacity,
+                          @Value("${app.journal.retention-hours:168}") long retentionHours,
+                          @Value("${app.journal.max-segments:12}") int maxSegments) {
+        this.enabled = enabled;
+        this.dir = Path.of(dir);
+        this.segmentBytes = Math.max(1, segmentMb) << 20;
+        this.fsync = fsync;
+        this.flushMs = Math.max(1, flushMs);
+        this.retention = Duration.ofHours(retentionHours);
+        this.maxSegments = Math.max(1, maxSegments);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    public void ticketBooked(Ticket t) {
+        append(JournalRecord.Type.TICKET_BOOKED, t.getEventId(), t.getId(), t.getEmail(), t.getStudentName());
+    }
+
+    public void ticketCancelled(Ticket t) {
+        append(JournalRecord.Type.TICKET_CANCELLED, t.getEventId(), t.getId(), t.getEmail());
+    }
+
+    public void eventCreated(Event e) {
+        appendEvent(JournalRecord.Type.EVENT_CREATED, e);
+    }
+
+    public void eventUpdated(Event e) {
+        appendEvent(JournalRecord.Type.EVENT_UPDATED, e);
+    }
+
+    public void eventDeleted(Event e) {
+        append(JournalRecord.Type.EVENT_DELETED, e.getId(), e.getClubId());
+    }
+
+    /** Highest sequence number known to be on disk (or in the page cache when fsync is off). */
+    public long durableSeq() {
+        return durableSeq;
+    }
+
+    /** Records lost because the queue was full or the journal was not running. */
+    public long dropped() {
+        return dropped.get();
+    }
+
+    public long replay(long fromSeq, Consumer<JournalRecord> consumer) throws IOException {
+        return JournalReader.replay(dir, fromSeq, consumer);
+    }
+
+    private void appendEvent(JournalRecord.Type type, Event e) {
+        append(type, e.getId(), e.getClubId(), e.getName(), String.valueOf(e.getCapacity()),
+                e.getStartsAt() == null ? null : e.getStartsAt().toString());
+    }
+
+    // Never blocks the request: a full queue, or a journal that failed to start or has stopped,
+    // drops the record and counts it
+    private void append(JournalRecord.Type type, String... fields) {
+        if (!enabled) return;
+        if (!running) {
+            drop("Journal not running");
+            return;
+        }
+        if (!queue.offer(new Pending(System.currentTimeMillis(), type, Arrays.asList(fields)))) {
+            drop("Journal queue full");
+        }
+    }
+
+    private void drop(String reason) {
+        long n = dropped.incrementAndGet();
+        if (n == 1 || n % 1000 == 0) {
+            log.error("{} - Dropped: {}", reason, n);
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            log.info("Booking journal disabled");
+            return;
+        }
+        try {
+            Files.createDirectories(dir);
+            recover();
+            prune();
+        } catch (IOException e) {
+            log.error("Booking journal unavailable - Dir: {}, Error: {}", dir, e.getMessage(), e);
+            return;
+        }
+        running = true;
+        writer = new Thread(this::run, "booking-journal");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("Booking journal started - Dir: {}, NextSeq: {}", dir, nextSeq);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (writer == null) return;
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>(MAX_BATCH);
+        while ((running || !queue.isEmpty()) && !failed) {
+            try {
+                Pending first = queue.poll(flushMs, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                reopenAfterFailure(batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+        if (failed) {
+            dropped.addAndGet(queue.size());
+            queue.clear();
+        }
+        try {
+            closeSegment();
+        } catch (IOException e) {
+            log.warn("Journal close failed: {}", e.getMessage());
+        }
+    }
+
+    private void write(List<Pending> batch) throws IOException {
+        int from = segment.position();
+        for (Pending p : batch) {
+            byte[] bytes = JournalCodec.encode(nextSeq, p.timestamp(), p.type(), p.fields());
+            if (bytes.length > segment.remaining()) {
+                force(from);
+                closeSegment();
+                openSegment(JournalReader.segmentPath(dir, nextSeq));
+                from = 0;
+                prune();
+            }
+            segment.put(bytes);
+            nextSeq++;
+        }
+        // Group commit: one fsync for the whole batch
+        force(from);
+        durableSeq = nextSeq - 1;
+    }
+
+    /*
+     * The batch may be partly in the segment, with nextSeq already past it. Reopen at the
+     * real end of the written data and count the records that did not make it. If the
+     * journal cannot be reopened it stops; later appends are counted as drops.
+     */
+    private void reopenAfterFailure(int records, Exception cause) {
+        long before = durableSeq;
+        try {
+            try {
+                closeSegment();
+            } catch (IOException e) {
+                log.warn("Journal close after failure failed: {}", e.getMessage());
+            }
+            recover();
+            long lost = Math.max(0, records - (durableSeq - before));
+            dropped.addAndGet(lost);
+            log.error("Journal write failed, segment reopened - Records: {}, Lost: {}, NextSeq: {}, Error: {}",
+                    records, lost, nextSeq, cause.getMessage(), cause);
+        } catch (Exception e) {
+            running = false;
+            failed = true;
+            dropped.addAndGet(records);
+            log.error("Journal write failed, journal stopped - Records: {}, Error: {}, Reopen error: {}",
+                    records, cause.getMessage(), e.getMessage(), cause);
+        }
+    }
+
+    private void force(int from) {
+        if (fsync && segment.position() > from) {
+            segment.force(from, segment.position() - from);
+        }
+    }
+
+    // Deletes the oldest closed segments beyond the count limit or older than the retention age
+    private void prune() {
+        try {
+            List<Path> segments = JournalReader.segments(dir);
+            long cutoff = System.currentTimeMillis() - retention.toMillis();
+            // The last segment is the one being written
+            for (int i = 0; i < segments.size() - 1; i++) {
+                Path p = segments.get(i);
+                boolean excess = segments.size() - i > maxSegments;
+                if (!excess && Files.getLastModifiedTime(p).toMillis() >= cutoff) break;
+                Files.deleteIfExists(p);
+                log.info("Journal segment pruned - Segment: {}", p.getFileName());
+            }
+        } catch (IOException e) {
+            log.warn("Journal pruning failed - Dir: {}, Error: {}", dir, e.getMessage());
+        }
+    }
+
+    // Finds the end of the last segment (first zero length or torn record) and resumes there
+    private void recover() throws IOException {
+        List<Path> segments = JournalReader.segments(dir);
+        if (segments.isEmpty()) {
+            nextSeq = 1;
+            openSegment(JournalReader.segmentPath(dir, nextSeq));
+            return;
+        }
+        Path last = segments.get(segments.size() - 1);
+        nextSeq = JournalReader.firstSeq(last);
+        openSegment(last);
+        JournalRecord r;
+        while ((r = JournalCodec.decode(segment)) != null) {
+            nextSeq = r.seq() + 1;
+        }
+        int end = segment.position();
+        if (end + JournalCodec.HEADER <= segment.limit() && segment.getInt(end) != 0) {
+            // Torn tail from a crash mid-write: clear it so the next append starts clean
+            log.warn("Journal torn tail truncated - Segment: {}, Offset: {}", last.getFileName(), end);
+            for (int i = end; i < segment.limit(); i++) segment.put(i, (byte) 0);
+            segment.force();
+        }
+        durableSeq = nextSeq - 1;
+    }
+
+    private void openSegment(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = Math.max(channel.size(), segmentBytes);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+
+    private void closeSegment() throws IOException {
+        try {
+            if (segment != null && fsync) segment.force();
+            if (channel != null) channel.close();
+        } finally {
+            segment = null;
+            channel = null;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.campusconnect.journal;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Binary record layout, little room for surprises:
+ * <pre>
+ * int   length        bytes that follow, including the CRC; 0 marks the end of a segment
+ * byte  type
+ * long  seq
+ * long  timestamp     epoch millis
+ * byte  fieldCount
+ *   short len, bytes  UTF-8 per field; len -1 is null
+ * int   crc32         over type..fields
+ * </pre>
+ */
+final class JournalCodec {
+    static final int HEADER = 4;
+
+    private JournalCodec() {
+    }
+
+    static byte[] encode(long seq, long timestamp, JournalRecord.Type type, List<String> fields) {
+        byte[][] encoded = new byte[fields.size()][];
+        int size = 1 + 8 + 8 + 1;
+        for (int i = 0; i < encoded.length; i++) {
+            String f = fields.get(i);
+            encoded[i] = f == null ? null : f.getBytes(StandardCharsets.UTF_8);
+            size += 2 + (f == null ? 0 : Math.min(encoded[i].length, Short.MAX_VALUE));
+        }
+        ByteBuffer buf = ByteBuffer.allocate(HEADER + size + 4);
+        buf.putInt(size + 4);
+        buf.put((byte) type.ordinal());
+        buf.putLong(seq);
+        buf.putLong(timestamp);
+        buf.put((byte) encoded.length);
+        for (byte[] f : encoded) {
+            if (f == null) {
+                buf.putShort((short) -1);
+            } else {
+                int len = Math.min(f.length, Short.MAX_VALUE);
+                buf.putShort((short) len);
+                buf.put(f, 0, len);
+            }
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buf.array(), HEADER, size);
+        buf.putInt((int) crc.getValue());
+        return buf.array();
+    }
+
+    /**
+     * Decodes the record at the buffer's position and advances past it.
+     * Returns {@code null} at the end of the written data or on a torn/corrupt tail.
+     */
+    static JournalRecord decode(ByteBuffer buf) {
+        if (buf.remaining() < HEADER) return null;
+        int start = buf.position();
+        int length = buf.getInt();
+        if (length <= 4 || length > buf.remaining()) {
+            buf.position(start);
+            return null;
+        }
+        int body = buf.position();
+        CRC32 crc = new CRC32();
+        crc.update(buf.slice(body, length - 4));
+        if ((int) crc.getValue() != buf.getInt(body + length - 4)) {
+            buf.position(start);
+            return null;
+        }
+        JournalRecord.Type type = JournalRecord.Type.of(buf.get());
+        long seq = buf.getLong();
+        long timestamp = buf.getLong();
+        int count = buf.get();
+        List<String> fields = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            short len = buf.getShort();
+            if (len < 0) {
+                fields.add(null);
+            } else {
+                byte[] b = new byte[len];
+                buf.get(b);
+                fields.add(new String(b, StandardCharsets.UTF_8));
+            }
+        }
+        buf.position(body + length);
+        return new JournalRecord(seq, timestamp, type, fields);
+    }
+}
@@ -0,0 +1,80 @@
+package com.campusconnect.journal;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Reads journal segments without touching Mongo, so counters, audits and
+ * analytics can be rebuilt offline. Runnable on its own against a copied
+ * journal directory:
+ * <pre>
+ * java -cp app.jar -Dloader.main=com.campusconnect.journal.JournalReader \
+ *      org.springframework.boot.loader.launch.PropertiesLauncher &lt;dir&gt; [fromSeq]
+ * </pre>
+ */
+public final class JournalReader {
+    static final String PREFIX = "journal-";
+    static final String SUFFIX = ".seg";
+
+    private JournalReader() {
+    }
+
+    /** Feeds every record with {@code seq >= fromSeq} to the consumer, oldest first. Returns the count. */
+    public static long replay(Path dir, long fromSeq, Consumer<JournalRecord> consumer) throws IOException {
+        List<Path> segments = segments(dir);
+        long count = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            // Skip whole segments that end before fromSeq
+            if (i + 1 < segments.size() && firstSeq(segments.get(i + 1)) <= fromSeq) continue;
+            try (FileChannel ch = FileChannel.open(segments.get(i), StandardOpenOption.READ)) {
+                MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+                JournalRecord r;
+                while ((r = JournalCodec.decode(buf)) != null) {
+                    if (r.seq() < fromSeq) continue;
+                    consumer.accept(r);
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    static List<Path> segments(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) return List.of();
+        try (Stream<Path> files = Files.list(dir)) {
+            // Zero-padded first sequence in the name, so lexical order is journal order
+            return files.filter(p -> {
+                String n = p.getFileName().toString();
+                return n.startsWith(PREFIX) && n.endsWith(SUFFIX);
+            }).sorted().toList();
+        }
+    }
+
+    static long firstSeq(Path segment) {
+        String n = segment.getFileName().toString();
+        return Long.parseLong(n.substring(PREFIX.length(), n.length() - SUFFIX.length()));
+    }
+
+    static Path segmentPath(Path dir, long firstSeq) {
+        return dir.resolve(String.format("%s%020d%s", PREFIX, firstSeq, SUFFIX));
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("usage: JournalReader <dir> [fromSeq]");
+            System.exit(2);
+        }
+        long from = args.length > 1 ? Long.parseLong(args[1]) : 0;
+        long n = replay(Path.of(args[0]), from, r ->
+                System.out.println(r.seq() + "\t" + r.timestamp() + "\t" + r.type() + "\t" + String.join("\t",
+                        r.fields().stream().map(f -> f == null ? "" : f).toList())));
+        System.err.println(n + " records");
+    }
+}
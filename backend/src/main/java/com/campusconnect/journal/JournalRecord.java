@@ -0,0 +1,27 @@
+package com.campusconnect.journal;
+
+import java.util.List;
+
+/**
+ * One journal entry. Field layout per type:
+ * <ul>
+ *   <li>TICKET_BOOKED: eventId, ticketId, email, studentName</li>
+ *   <li>TICKET_CANCELLED: eventId, ticketId, email</li>
+ *   <li>EVENT_CREATED, EVENT_UPDATED: eventId, clubId, name, capacity, startsAt</li>
+ *   <li>EVENT_DELETED: eventId, clubId</li>
+ * </ul>
+ */
+public record JournalRecord(long seq, long timestamp, Type type, List<String> fields) {
+
+    public enum Type {
+        TICKET_BOOKED, TICKET_CANCELLED, EVENT_CREATED, EVENT_UPDATED, EVENT_DELETED;
+
+        static Type of(int code) {
+            return values()[code];
+        }
+    }
+
+    public String field(int i) {
+        return i < fields.size() ? fields.get(i) : null;
+    }
+}
@@ -0,0 +1,38 @@
+package com.campusconnect.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Up to {@code app.attendees.bucket-size} attendees of one event packed into a
+ * single document, so listing a large event reads a few hundred documents
+ * instead of one per ticket. {@code tickets} stays the per-ticket lookup.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "attendee_buckets")
+@CompoundIndex(name = "event_count", def = "{'eventId': 1, 'count': 1}")
+public class AttendeeBucket {
+    @Id
+    private String id;
+    private String eventId;
+    private int count;
+    private List<Entry> attendees = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Entry {
+        private String ticketId;
+        private String studentName;
+        private String email;
+        private String bookingTime;
+        private String qrToken;
+    }
+}
@@ -0,0 +1,21 @@
+package com.campusconnect.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "checkins")
+public class CheckIn {
+    @Id
+    private String id;        // ticketId
+    @Indexed
+    private String eventId;
+    private Instant admittedAt;
+    private Boolean revoked;  // ticket was cancelled; its QR token must not admit
+}
@@ -2,8 +2,11 @@ package com.campusconnect.model;
 
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.time.Instant;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -15,8 +18,16 @@ public class Event {
     private String description;
     private String date;   // YYYY-MM-DD
     private String time;   // HH:mm
+    @Indexed
+    private Instant startsAt; // date + time in the campus zone, for range queries
     private String venue;
     private Integer capacity;
     private String clubId;
     private String clubName;
+    private Boolean deleted; // set on delete; tickets are purged in the background
+    private Boolean bucketed; // attendees also packed into attendee_buckets, see AttendeeService
+    private Boolean purged; // deleted and cleaned up; the row stays as a sync tombstone
+    @Indexed
+    private Long changeSeq; // see EventChangeFeed, written with every change
+    private Instant changedAt; // when changeSeq was issued
 }
@@ -0,0 +1,29 @@
+package com.campusconnect.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * One event's booking counts for one UTC day, keyed {@code <eventId>:<epochDay>}.
+ * The maps go from minute of the day ("0".."1439") to a count and only hold
+ * minutes with activity. Every instance adds to them with {@code $inc}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "event_analytics")
+public class EventAnalytics {
+    @Id
+    private String id;
+    @Indexed
+    private String eventId;
+    private long day; // epoch day
+    private Map<String, Integer> bookings;
+    private Map<String, Integer> cancellations;
+    private Instant updatedAt;
+}
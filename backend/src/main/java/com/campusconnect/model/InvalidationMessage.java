@@ -0,0 +1,29 @@
+package com.campusconnect.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * One cache invalidation, broadcast through the capped {@code invalidations}
+ * collection. {@code seq} counts up per {@code origin} instance, so a receiver
+ * can tell when it missed messages.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "invalidations")
+public class InvalidationMessage {
+    @Id
+    private String id;
+    private String origin;
+    private long seq;
+    private String topic;
+    private String key;
+    private String eventId;
+    // Set on TICKET_BOOKED, so receivers can rank an event they have not seen yet
+    private String eventName;
+    private Instant at;
+}
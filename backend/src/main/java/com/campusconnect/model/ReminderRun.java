@@ -0,0 +1,30 @@
+package com.campusconnect.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Progress of the reminder send for one event, keyed by event id. Recipients
+ * are processed in email order and {@code lastEmail} is the checkpoint, so a
+ * restarted run continues after it. The instance sending holds a lease
+ * ({@code leaseOwner} until {@code leaseUntil}) so no two instances send for
+ * the same event at once.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "reminder_runs")
+public class ReminderRun {
+    @Id
+    private String id;
+    private Instant startsAt;
+    private String lastEmail;
+    private long sent;
+    private long failed;
+    private boolean done;
+    private String leaseOwner;
+    private Instant leaseUntil;
+}
@@ -2,18 +2,23 @@ package com.campusconnect.model;
 
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "tickets")
+// Unique (eventId, email) index "event_email": built by TicketIndexMigration once duplicates are gone
 public class Ticket {
     @Id
     private String id;
+    @Indexed
     private String eventId;
     private String eventName;
     private String studentName;
+    @Indexed
     private String email;
     private String bookingTime; // ISO_LOCAL_DATE_TIME
+    private String qrToken;     // signed check-in token, see JwtService.generateTicketToken
 }
@@ -0,0 +1,17 @@
+package com.campusconnect.reminder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Used when no mail relay is configured ({@code spring.mail.host} unset).
+ */
+public class LoggingReminderTransport implements ReminderTransport {
+    private static final Logger log = LoggerFactory.getLogger(LoggingReminderTransport.class);
+
+    @Override
+    public void send(Reminder reminder) {
+        log.info("Reminder (no mail relay configured) - Email: {}, Events: {}",
+                reminder.email(), reminder.events().stream().map(e -> e.getId()).toList());
+    }
+}
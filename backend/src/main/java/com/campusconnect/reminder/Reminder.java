@@ -0,0 +1,11 @@
+package com.campusconnect.reminder;
+
+import com.campusconnect.model.Event;
+
+import java.util.List;
+
+/**
+ * One message to one student, covering all of their events in a start-time group.
+ */
+public record Reminder(String email, String studentName, List<Event> events) {
+}
@@ -0,0 +1,266 @@
+package com.campusconnect.reminder;
+
+import com.campusconnect.model.Event;
+import com.campusconnect.model.ReminderRun;
+import com.campusconnect.model.Ticket;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Sends "starting soon" reminders to ticket holders. Events starting within
+ * the lead time are grouped by start time; each group's tickets are streamed
+ * in (email, _id) order so one student gets one message per group, sent in
+ * batches through the transport with a shared rate limit, a fixed number of
+ * concurrent connections and retry with backoff. Progress is kept per event in
+ * {@code reminder_runs}: the last email of every completed batch is the
+ * checkpoint, and an instance only sends for events whose lease it holds.
+ * Runs execute on their own thread, never on the shared scheduler.
+ */
+@Service
+public class ReminderDispatcher {
+    private static final Logger log = LoggerFactory.getLogger(ReminderDispatcher.class);
+
+    private final MongoTemplate mongo;
+    private final ReminderTransport transport;
+    private final Duration lead;
+    private final Duration leaseTtl;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long backoffMs;
+    private final TokenBucket rateLimit;
+    private final ExecutorService connections;
+    private final ExecutorService runner;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final String instanceId = UUID.randomUUID().toString();
+
+    public ReminderDispatcher(MongoTemplate mongo, ReminderTransport transport,
+                              @Value("${app.reminders.lead-minutes:60}") long leadMinutes,
+                              @Value("${app.reminders.lease-ms:300000}") long leaseMs,
+                              @Value("${app.reminders.batch-size:200}") int batchSize,
+                              @Value("${app.reminders.rate-per-second:20}") double ratePerSecond,
+                              @Value("${app.reminders.connections:4}") int connections,
+                              @Value("${app.reminders.max-attempts:3}") int maxAttempts,
+                              @Value("${app.reminders.backoff-ms:500}") long backoffMs) {
+        this.mongo = mongo;
+        this.transport = transport;
+        this.lead = Duration.ofMinutes(leadMinutes);
+        this.leaseTtl = Duration.ofMillis(leaseMs);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.backoffMs = backoffMs;
+        this.rateLimit = new TokenBucket(ratePerSecond, Math.max(1, (int) ratePerSecond));
+        this.connections = Executors.newFixedThreadPool(connections, r -> {
+            Thread t = new Thread(r, "reminder-send");
+            t.setDaemon(true);
+            return t;
+        });
+        this.runner = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "reminder-run");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /** Hands the run to the reminder thread; a tick while one is still going is skipped. */
+    @Scheduled(initialDelayString = "${app.reminders.interval-ms:60000}", fixedDelayString = "${app.reminders.interval-ms:60000}")
+    public void dispatch() {
+        if (!running.compareAndSet(false, true)) return;
+        try {
+            runner.execute(() -> {
+                try {
+                    dispatchDue();
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            running.set(false);
+        }
+    }
+
+    // For tests: whether a handed-off run is still going
+    boolean isRunning() {
+        return running.get();
+    }
+
+    private void dispatchDue() {
+        Instant now = Instant.now();
+        try {
+            Query due = Query.query(Criteria.where("startsAt").gt(now).lte(now.plus(lead)).and("deleted").ne(true));
+            List<Event> events = mongo.find(due, Event.class);
+            if (events.isEmpty()) return;
+
+            Set<String> finished = mongo.find(Query.query(Criteria.where("_id")
+                            .in(events.stream().map(Event::getId).toList()).and("done").is(true)), ReminderRun.class)
+                    .stream().map(ReminderRun::getId).collect(Collectors.toSet());
+
+            Map<Instant, List<Event>> groups = events.stream()
+                    .filter(e -> !finished.contains(e.getId()))
+                    .collect(Collectors.groupingBy(Event::getStartsAt, TreeMap::new, Collectors.toList()));
+            for (var group : groups.entrySet()) {
+                run(group.getKey(), group.getValue());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Reminder dispatch failed - will resume from checkpoint: {}", e.getMessage(), e);
+        }
+    }
+
+    private void run(Instant startsAt, List<Event> events) throws InterruptedException {
+        Map<String, ReminderRun> runs = new LinkedHashMap<>();
+        for (Event evt : events) {
+            ReminderRun state = claim(evt.getId(), startsAt);
+            if (state != null) runs.put(evt.getId(), state);
+        }
+        if (runs.isEmpty()) return;
+        Map<String, Event> byId = events.stream().collect(Collectors.toMap(Event::getId, e -> e));
+        log.info("Reminder run started - StartsAt: {}, Events: {}, Claimed: {}", startsAt, events.size(), runs.keySet());
+
+        // Each event resumes after its own checkpoint; one email order across the group
+        List<Criteria> pending = new ArrayList<>(runs.size());
+        for (ReminderRun state : runs.values()) {
+            Criteria c = Criteria.where("eventId").is(state.getId());
+            if (state.getLastEmail() != null) c = c.and("email").gt(state.getLastEmail());
+            pending.add(c);
+        }
+        Query query = Query.query(new Criteria().orOperator(pending)).with(Sort.by("email", "_id")).cursorBatchSize(batchSize);
+        query.fields().include("eventId", "email", "studentName");
+
+        List<Reminder> batch = new ArrayList<>(batchSize);
+        Reminder current = null;
+        try (var tickets = mongo.stream(query, Ticket.class)) {
+            for (Ticket t : (Iterable<Ticket>) tickets::iterator) {
+                Event evt = byId.get(t.getEventId());
+                if (current != null && current.email().equals(t.getEmail())) {
+                    if (!current.events().contains(evt)) current.events().add(evt);
+                    continue;
+                }
+                if (current != null) {
+                    batch.add(current);
+                    if (batch.size() == batchSize) {
+                        sendBatch(runs.values(), batch);
+                        batch.clear();
+                    }
+                }
+                current = new Reminder(t.getEmail(), t.getStudentName(), new ArrayList<>(List.of(evt)));
+            }
+        }
+        if (current != null) batch.add(current);
+        sendBatch(runs.values(), batch);
+        for (ReminderRun state : runs.values()) {
+            mongo.updateFirst(owned(state.getId()),
+                    new Update().set("done", true).unset("leaseOwner").unset("leaseUntil"), ReminderRun.class);
+            log.info("Reminder run completed - EventId: {}, Sent: {}, Failed: {}", state.getId(), state.getSent(), state.getFailed());
+        }
+    }
+
+    /**
+     * Takes the event's lease if it is free, expired or already ours.
+     *
+     * @return the event's progress, or null if another instance holds it or it is done
+     */
+    private ReminderRun claim(String eventId, Instant startsAt) {
+        Instant now = Instant.now();
+        Query free = Query.query(Criteria.where("_id").is(eventId).and("done").ne(true).orOperator(
+                Criteria.where("leaseUntil").is(null),
+                Criteria.where("leaseUntil").lt(now),
+                Criteria.where("leaseOwner").is(instanceId)));
+        Update take = new Update().set("leaseOwner", instanceId).set("leaseUntil", now.plus(leaseTtl))
+                .setOnInsert("startsAt", startsAt);
+        try {
+            return mongo.findAndModify(free, take, FindAndModifyOptions.options().upsert(true).returnNew(true),
+                    ReminderRun.class);
+        } catch (DuplicateKeyException e) {
+            return null; // the upsert collided with a run leased elsewhere or finished
+        }
+    }
+
+    private Query owned(String eventId) {
+        return Query.query(Criteria.where("_id").is(eventId).and("leaseOwner").is(instanceId));
+    }
+
+    private void sendBatch(Collection<ReminderRun> runs, List<Reminder> batch) throws InterruptedException {
+        if (batch.isEmpty()) return;
+        Map<String, AtomicLong> sent = new ConcurrentHashMap<>();
+        Map<String, AtomicLong> failed = new ConcurrentHashMap<>();
+        List<CompletableFuture<Void>> sends = new ArrayList<>(batch.size());
+        for (Reminder r : batch) {
+            rateLimit.acquire();
+            sends.add(CompletableFuture.runAsync(() -> {
+                var counts = sendWithRetry(r) ? sent : failed;
+                r.events().forEach(e -> counts.computeIfAbsent(e.getId(), k -> new AtomicLong()).incrementAndGet());
+            }, connections));
+        }
+        CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).join();
+
+        // Everything up to here has been attempted; never resend it after a restart. Every
+        // event in the group is done up to this email (a checkpoint never moves back).
+        String last = batch.get(batch.size() - 1).email();
+        for (ReminderRun state : runs) {
+            long s = sent.getOrDefault(state.getId(), new AtomicLong()).get();
+            long f = failed.getOrDefault(state.getId(), new AtomicLong()).get();
+            Update checkpoint = new Update().inc("sent", s).inc("failed", f)
+                    .set("leaseUntil", Instant.now().plus(leaseTtl));
+            if (state.getLastEmail() == null || state.getLastEmail().compareTo(last) < 0) {
+                checkpoint.set("lastEmail", last);
+                state.setLastEmail(last);
+            }
+            if (mongo.updateFirst(owned(state.getId()), checkpoint, ReminderRun.class).getModifiedCount() == 0) {
+                throw new IllegalStateException("Reminder lease lost for event " + state.getId());
+            }
+            state.setSent(state.getSent() + s);
+            state.setFailed(state.getFailed() + f);
+        }
+    }
+
+    private boolean sendWithRetry(Reminder r) {
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                transport.send(r);
+                return true;
+            } catch (Exception e) {
+                if (attempt == maxAttempts) {
+                    log.warn("Reminder failed after {} attempts - Email: {}, Error: {}", attempt, r.email(), e.getMessage());
+                    return false;
+                }
+                try {
+                    Thread.sleep(backoffMs << (attempt - 1));
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runner.shutdownNow();
+        connections.shutdownNow();
+    }
+}
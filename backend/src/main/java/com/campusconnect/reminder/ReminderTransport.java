@@ -0,0 +1,10 @@
+package com.campusconnect.reminder;
+
+/**
+ * Delivers a single reminder. Implementations must be thread-safe; the
+ * dispatcher calls them from several connections at once and handles
+ * rate limiting and retries itself.
+ */
+public interface ReminderTransport {
+    void send(Reminder reminder) throws Exception;
+}
@@ -0,0 +1,34 @@
+package com.campusconnect.reminder;
+
+import com.campusconnect.model.Event;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import java.util.stream.Collectors;
+
+public class SmtpReminderTransport implements ReminderTransport {
+    private final JavaMailSender mailSender;
+    private final String from;
+
+    public SmtpReminderTransport(JavaMailSender mailSender, String from) {
+        this.mailSender = mailSender;
+        this.from = from;
+    }
+
+    @Override
+    public void send(Reminder reminder) {
+        Event first = reminder.events().get(0);
+        SimpleMailMessage msg = new SimpleMailMessage();
+        msg.setFrom(from);
+        msg.setTo(reminder.email());
+        msg.setSubject(reminder.events().size() == 1
+                ? "Reminder: " + first.getName() + " starts at " + first.getTime()
+                : "Reminder: " + reminder.events().size() + " of your events start at " + first.getTime());
+        msg.setText("Hi " + reminder.studentName() + ",\n\n"
+                + reminder.events().stream()
+                        .map(e -> e.getName() + " - " + e.getDate() + " " + e.getTime() + " at " + e.getVenue())
+                        .collect(Collectors.joining("\n"))
+                + "\n\nShow your ticket QR code at the entrance.\n\nCampusConnect");
+        mailSender.send(msg);
+    }
+}
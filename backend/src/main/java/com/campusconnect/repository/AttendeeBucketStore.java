@@ -0,0 +1,105 @@
+package com.campusconnect.repository;
+
+import com.campusconnect.model.AttendeeBucket;
+import com.campusconnect.model.Event;
+import com.campusconnect.model.Ticket;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reads and writes the bucketed attendee layout for events with
+ * {@code Event.bucketed} set.
+ */
+@Repository
+public class AttendeeBucketStore {
+
+    private final MongoTemplate mongo;
+    private final int bucketSize;
+
+    public AttendeeBucketStore(MongoTemplate mongo, @Value("${app.attendees.bucket-size:200}") int bucketSize) {
+        this.mongo = mongo;
+        this.bucketSize = bucketSize;
+    }
+
+    public int bucketSize() {
+        return bucketSize;
+    }
+
+    /** Appends to the event's open bucket, starting a new one when all are full. */
+    public void add(Ticket t) {
+        Query open = Query.query(Criteria.where("eventId").is(t.getEventId()).and("count").lt(bucketSize));
+        Update push = new Update().push("attendees", entry(t)).inc("count", 1);
+        mongo.upsert(open, push, AttendeeBucket.class);
+    }
+
+    // Multi: a reconciliation racing a live append can leave a ticket in two buckets
+    public void remove(String eventId, String ticketId) {
+        Query holder = Query.query(Criteria.where("eventId").is(eventId).and("attendees.ticketId").is(ticketId));
+        Update pull = new Update().pull("attendees", Query.query(Criteria.where("ticketId").is(ticketId)).getQueryObject())
+                .inc("count", -1);
+        mongo.updateMulti(holder, pull, AttendeeBucket.class);
+    }
+
+    public boolean contains(String eventId, String ticketId) {
+        return mongo.exists(Query.query(Criteria.where("eventId").is(eventId).and("attendees.ticketId").is(ticketId)),
+                AttendeeBucket.class);
+    }
+
+    /** Ticket ids held by the event's buckets. */
+    public Set<String> ticketIds(String eventId) {
+        Query q = Query.query(Criteria.where("eventId").is(eventId));
+        q.fields().include("attendees.ticketId");
+        Set<String> ids = new HashSet<>();
+        for (AttendeeBucket b : mongo.find(q, AttendeeBucket.class)) {
+            b.getAttendees().forEach(e -> ids.add(e.getTicketId()));
+        }
+        return ids;
+    }
+
+    /** All attendees of the event, in booking order, as tickets. */
+    public List<Ticket> findTickets(Event evt) {
+        var buckets = mongo.find(Query.query(Criteria.where("eventId").is(evt.getId())).with(Sort.by("_id")),
+                AttendeeBucket.class);
+        List<Ticket> tickets = new ArrayList<>(buckets.size() * bucketSize);
+        Set<String> seen = new HashSet<>();
+        for (AttendeeBucket b : buckets) {
+            for (AttendeeBucket.Entry e : b.getAttendees()) {
+                if (!seen.add(e.getTicketId())) continue;
+                tickets.add(new Ticket(e.getTicketId(), evt.getId(), evt.getName(), e.getStudentName(),
+                        e.getEmail(), e.getBookingTime(), e.getQrToken()));
+            }
+        }
+        return tickets;
+    }
+
+    /** Writes the tickets as full buckets; used by the migration. */
+    public void insertAll(String eventId, List<Ticket> tickets) {
+        if (tickets.isEmpty()) return;
+        BulkOperations bulk = mongo.bulkOps(BulkOperations.BulkMode.ORDERED, AttendeeBucket.class);
+        for (int from = 0; from < tickets.size(); from += bucketSize) {
+            var slice = tickets.subList(from, Math.min(from + bucketSize, tickets.size()));
+            List<AttendeeBucket.Entry> entries = slice.stream().map(AttendeeBucketStore::entry).toList();
+            bulk.insert(new AttendeeBucket(null, eventId, entries.size(), new ArrayList<>(entries)));
+        }
+        bulk.execute();
+    }
+
+    public void deleteAll(String eventId) {
+        mongo.remove(Query.query(Criteria.where("eventId").is(eventId)), AttendeeBucket.class);
+    }
+
+    private static AttendeeBucket.Entry entry(Ticket t) {
+        return new AttendeeBucket.Entry(t.getId(), t.getStudentName(), t.getEmail(), t.getBookingTime(), t.getQrToken());
+    }
+}
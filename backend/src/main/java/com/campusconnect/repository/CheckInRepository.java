@@ -0,0 +1,13 @@
+package com.campusconnect.repository;
+
+import com.campusconnect.model.CheckIn;
+import com.campusconnect.resilience.QueryTimeouts;
+import org.springframework.data.mongodb.repository.Meta;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.List;
+
+public interface CheckInRepository extends MongoRepository<CheckIn, String> {
+    @Meta(maxExecutionTimeMs = QueryTimeouts.READ_MS)
+    List<CheckIn> findByEventId(String eventId);
+}
@@ -1,11 +1,18 @@
 package com.campusconnect.repository;
 
 import com.campusconnect.model.Club;
+import com.campusconnect.resilience.QueryTimeouts;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
 import java.util.Optional;
 
 public interface ClubRepository extends MongoRepository<Club, String> {
+    // findById with a time limit; the inherited CRUD methods cannot carry @Meta
+    @Meta(maxExecutionTimeMs = QueryTimeouts.AUTH_MS)
+    Optional<Club> findOneById(String id);
+    @Meta(maxExecutionTimeMs = QueryTimeouts.AUTH_MS)
     Optional<Club> findByEmail(String email);
+    @Meta(maxExecutionTimeMs = QueryTimeouts.AUTH_MS)
     boolean existsByEmail(String email);
 }
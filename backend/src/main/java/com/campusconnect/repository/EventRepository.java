@@ -1,10 +1,67 @@
 package com.campusconnect.repository;
 
+import com.campusconnect.dto.ClubEventStats;
 import com.campusconnect.model.Event;
+import com.campusconnect.resilience.QueryTimeouts;
+import org.springframework.data.mongodb.repository.Aggregation;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 
 public interface EventRepository extends MongoRepository<Event, String> {
+    @Meta(maxExecutionTimeMs = QueryTimeouts.READ_MS)
     List<Event> findByClubId(String clubId);
+    List<Event> findByDeletedAndPurgedNot(Boolean deleted, Boolean purged);
+    @Meta(maxExecutionTimeMs = QueryTimeouts.READ_MS)
+    List<Event> findByDeletedNot(Boolean deleted);
+    @Meta(maxExecutionTimeMs = QueryTimeouts.READ_MS)
+    Optional<Event> findByIdAndDeletedNot(String id, Boolean deleted);
+    @Meta(maxExecutionTimeMs = QueryTimeouts.READ_MS)
+    List<Event> findByStartsAtGreaterThanEqualAndDeletedNotOrderByStartsAtAsc(Instant from, Boolean deleted);
+    @Meta(maxExecutionTimeMs = QueryTimeouts.READ_MS)
+    List<Event> findByStartsAtLessThanAndDeletedNotOrderByStartsAtDesc(Instant before, Boolean deleted);
+
+    // Events marked deleted stay in the collection: until their tickets are purged
+    // by EventCleanupService, then as sync tombstones. Everything user-facing reads through these.
+    default List<Event> findAllLive() {
+        return findByDeletedNot(true);
+    }
+
+    default Optional<Event> findLiveById(String id) {
+        return findByIdAndDeletedNot(id, true);
+    }
+
+    default List<Event> findPendingCleanup() {
+        return findByDeletedAndPurgedNot(true, true);
+    }
+
+    // Index range scans on startsAt; soonest upcoming first, most recent past first
+    default List<Event> findUpcoming(Instant now) {
+        return findByStartsAtGreaterThanEqualAndDeletedNotOrderByStartsAtAsc(now, true);
+    }
+
+    default List<Event> findPast(Instant now) {
+        return findByStartsAtLessThanAndDeletedNotOrderByStartsAtDesc(now, true);
+    }
+
+    // Club dashboard in one round trip: each of the club's events joined with its
+    // ticket stats. Tickets reference events by the string form of _id.
+    @Meta(maxExecutionTimeMs = QueryTimeouts.REPORT_MS)
+    @Aggregation(pipeline = {
+            "{ $match: { clubId: ?0, deleted: { $ne: true } } }",
+            "{ $lookup: { from: 'tickets', let: { eid: { $toString: '$_id' } }, pipeline: ["
+                    + "{ $match: { $expr: { $eq: ['$eventId', '$$eid'] } } },"
+                    + "{ $group: { _id: null, booked: { $sum: 1 }, latest: { $max: '$bookingTime' } } }"
+                    + "], as: 'stats' } }",
+            "{ $addFields: { booked: { $ifNull: [{ $first: '$stats.booked' }, 0] },"
+                    + " latestBookingTime: { $first: '$stats.latest' } } }",
+            "{ $project: { name: 1, date: 1, time: 1, venue: 1, capacity: 1, booked: 1, latestBookingTime: 1,"
+                    + " remaining: { $cond: [{ $gt: ['$capacity', null] }, { $max: [0, { $subtract: ['$capacity', '$booked'] }] }, null] },"
+                    + " fillRate: { $cond: [{ $gt: ['$capacity', 0] }, { $divide: ['$booked', '$capacity'] }, null] } } }",
+            "{ $sort: { date: 1, time: 1 } }"
+    })
+    List<ClubEventStats> findClubDashboard(String clubId);
 }
@@ -0,0 +1,127 @@
+package com.campusconnect.repository;
+
+import com.campusconnect.model.Event;
+import com.campusconnect.model.Ticket;
+import com.campusconnect.resilience.QueryTimeouts;
+import com.campusconnect.resilience.RepositoryResilienceInterceptor;
+import com.campusconnect.resilience.RepositoryResilienceInterceptor.Compartment;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Sparse-fieldset reads for the list endpoints. The requested fields are pushed
+ * down to Mongo as a query projection, so unselected fields are never read,
+ * decoded or serialized. Results are returned as plain maps keyed like the
+ * entity JSON ({@code id} instead of {@code _id}).
+ * <p>
+ * A plain component rather than {@code @Repository}: MongoTemplate already
+ * translates exceptions, and this way no class proxy is created. Queries run
+ * under the READ bulkhead and breaker via {@link RepositoryResilienceInterceptor#guard}.
+ */
+@Component
+public class ProjectionRepository {
+
+    // Named lean views, usable as ?view=<name> instead of listing fields
+    public static final Map<String, List<String>> EVENT_VIEWS = Map.of(
+            "summary", List.of("name", "date", "time", "startsAt", "venue", "capacity", "clubId", "clubName")
+    );
+    public static final Map<String, List<String>> TICKET_VIEWS = Map.of(
+            "attendee", List.of("studentName", "email", "bookingTime"),
+            "mine", List.of("eventId", "eventName", "bookingTime")
+    );
+
+    private final MongoTemplate mongo;
+    private final RepositoryResilienceInterceptor resilience;
+
+    public ProjectionRepository(MongoTemplate mongo, RepositoryResilienceInterceptor resilience) {
+        this.mongo = mongo;
+        this.resilience = resilience;
+    }
+
+    /**
+     * Resolves the {@code fields} / {@code view} request parameters into a field list.
+     * Returns {@code null} when neither is given, meaning "full documents".
+     *
+     * @throws IllegalArgumentException for unknown fields or views
+     */
+    public static List<String> resolve(Class<?> type, String fields, String view) {
+        if (fields != null && !fields.isBlank()) {
+            Set<String> allowed = fieldNames(type);
+            List<String> selected = new ArrayList<>();
+            for (String f : fields.split(",")) {
+                String name = f.trim();
+                if (name.isEmpty() || name.equals("id")) continue;
+                if (!allowed.contains(name)) {
+                    throw new IllegalArgumentException("Unknown field: " + name);
+                }
+                selected.add(name);
+            }
+            return selected;
+        }
+        if (view != null && !view.isBlank()) {
+            var views = type == Event.class ? EVENT_VIEWS : TICKET_VIEWS;
+            List<String> selected = views.get(view);
+            if (selected == null) {
+                throw new IllegalArgumentException("Unknown view: " + view);
+            }
+            return selected;
+        }
+        return null;
+    }
+
+    public List<Map<String, Object>> findEvents(List<String> fields) {
+        return find(Query.query(Criteria.where("deleted").ne(true)), fields, Event.class);
+    }
+
+    /** Upcoming ({@code startsAt >= now}, ascending) or past ({@code < now}, descending) events. */
+    public List<Map<String, Object>> findEvents(List<String> fields, boolean upcoming, Instant now) {
+        Criteria range = upcoming ? Criteria.where("startsAt").gte(now) : Criteria.where("startsAt").lt(now);
+        Query query = Query.query(range.and("deleted").ne(true))
+                .with(upcoming ? Sort.by("startsAt") : Sort.by(Sort.Direction.DESC, "startsAt"));
+        return find(query, fields, Event.class);
+    }
+
+    public List<Map<String, Object>> findTicketsByEventId(String eventId, List<String> fields) {
+        return find(Query.query(Criteria.where("eventId").is(eventId)), fields, Ticket.class);
+    }
+
+    public List<Map<String, Object>> findTicketsByEmail(String email, List<String> fields) {
+        return find(Query.query(Criteria.where("email").is(email)), fields, Ticket.class);
+    }
+
+    private List<Map<String, Object>> find(Query query, List<String> fields, Class<?> type) {
+        fields.forEach(f -> query.fields().include(f));
+        query.maxTimeMsec(QueryTimeouts.READ_MS);
+        var docs = resilience.guard(Compartment.READ,
+                () -> mongo.find(query, Document.class, mongo.getCollectionName(type)));
+        List<Map<String, Object>> out = new ArrayList<>(docs.size());
+        for (Document doc : docs) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            Object id = doc.get("_id");
+            row.put("id", id instanceof ObjectId oid ? oid.toHexString() : id);
+            for (String f : fields) {
+                if (doc.containsKey(f)) row.put(f, doc.get(f));
+            }
+            out.add(row);
+        }
+        return out;
+    }
+
+    private static Set<String> fieldNames(Class<?> type) {
+        Set<String> names = new HashSet<>();
+        for (Field f : type.getDeclaredFields()) {
+            if (!Modifier.isStatic(f.getModifiers())) names.add(f.getName());
+        }
+        return names;
+    }
+}
@@ -1,12 +1,20 @@
 package com.campusconnect.repository;
 
 import com.campusconnect.model.Student;
+import com.campusconnect.resilience.QueryTimeouts;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
 import java.util.Optional;
 
 public interface StudentRepository extends MongoRepository<Student, String> {
+    // findById with a time limit; the inherited CRUD methods cannot carry @Meta
+    @Meta(maxExecutionTimeMs = QueryTimeouts.AUTH_MS)
+    Optional<Student> findOneById(String id);
+    @Meta(maxExecutionTimeMs = QueryTimeouts.AUTH_MS)
     Optional<Student> findByEmail(String email);
+    @Meta(maxExecutionTimeMs = QueryTimeouts.AUTH_MS)
     boolean existsByEmail(String email);
+    @Meta(maxExecutionTimeMs = QueryTimeouts.AUTH_MS)
     boolean existsByRbtNumber(String rbtNumber);
 }
@@ -1,13 +1,52 @@
 package com.campusconnect.repository;
 
+import com.campusconnect.dto.MyTicketsPage;
 import com.campusconnect.model.Ticket;
+import com.campusconnect.resilience.QueryTimeouts;
+import org.springframework.data.mongodb.repository.Aggregation;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface TicketRepository extends MongoRepository<Ticket, String> {
+    // findById with a time limit; the inherited CRUD methods cannot carry @Meta
+    @Meta(maxExecutionTimeMs = QueryTimeouts.READ_MS)
+    Optional<Ticket> findOneById(String id);
+    @Meta(maxExecutionTimeMs = QueryTimeouts.READ_MS)
     List<Ticket> findByEventId(String eventId);
+    @Meta(maxExecutionTimeMs = QueryTimeouts.READ_MS)
     List<Ticket> findByEmail(String email);
+    @Meta(maxExecutionTimeMs = QueryTimeouts.READ_MS)
     List<Ticket> findByEventIdAndEmail(String eventId, String email);
+    @Meta(maxExecutionTimeMs = QueryTimeouts.READ_MS)
     long countByEventId(String eventId);
+
+    /**
+     * One page of a student's tickets joined with their live events, ordered by
+     * event start, with the remaining seats counted for the page's events only.
+     */
+    @Meta(maxExecutionTimeMs = QueryTimeouts.READ_MS)
+    @Aggregation(pipeline = {
+            "{ $match: { email: ?0 } }",
+            "{ $addFields: { eventOid: { $convert: { input: '$eventId', to: 'objectId', onError: null, onNull: null } } } }",
+            "{ $lookup: { from: 'events', localField: 'eventOid', foreignField: '_id', as: 'event' } }",
+            "{ $unwind: '$event' }",
+            "{ $match: { 'event.deleted': { $ne: true } } }",
+            "{ $sort: { 'event.startsAt': 1, _id: 1 } }",
+            "{ $facet: { total: [{ $count: 'n' }], items: ["
+                    + "{ $skip: ?1 }, { $limit: ?2 },"
+                    + "{ $lookup: { from: 'tickets', let: { eid: '$eventId' }, pipeline: ["
+                    + "{ $match: { $expr: { $eq: ['$eventId', '$$eid'] } } }, { $count: 'n' }"
+                    + "], as: 'seats' } },"
+                    + "{ $project: { _id: 0, ticketId: { $toString: '$_id' }, eventId: 1, bookingTime: 1, qrToken: 1,"
+                    + " eventName: '$event.name', date: '$event.date', time: '$event.time', startsAt: '$event.startsAt',"
+                    + " venue: '$event.venue', clubName: '$event.clubName', capacity: '$event.capacity',"
+                    + " remaining: { $cond: [{ $gt: ['$event.capacity', null] },"
+                    + " { $max: [0, { $subtract: ['$event.capacity', { $ifNull: [{ $first: '$seats.n' }, 0] }] }] }, null] } } }"
+                    + "] } }",
+            "{ $project: { total: { $ifNull: [{ $first: '$total.n' }, 0] }, items: 1 } }"
+    })
+    MyTicketsPage findMyTicketsPage(String email, long skip, int limit);
 }
@@ -0,0 +1,68 @@
+package com.campusconnect.resilience;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Consecutive-failure circuit breaker. After {@code failureThreshold} database
+ * failures in a row it opens and rejects calls for {@code openMs}; then a
+ * single probe call is let through and its outcome closes or re-opens it.
+ */
+public class CircuitBreaker {
+    private static final Logger log = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openMs;
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicBoolean probeInFlight = new AtomicBoolean();
+    private volatile long openedAt = -1;
+
+    public CircuitBreaker(String name, int failureThreshold, long openMs) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openMs = openMs;
+    }
+
+    public State state() {
+        long opened = openedAt;
+        if (opened < 0) return State.CLOSED;
+        return System.currentTimeMillis() - opened >= openMs ? State.HALF_OPEN : State.OPEN;
+    }
+
+    /** @throws DatabaseUnavailableException while open, or half-open with a probe already running */
+    public void acquire() {
+        State s = state();
+        if (s == State.CLOSED) return;
+        if (s == State.HALF_OPEN && probeInFlight.compareAndSet(false, true)) return;
+        long remainingMs = Math.max(0, openMs - (System.currentTimeMillis() - openedAt));
+        throw new DatabaseUnavailableException("Database temporarily unavailable", Math.max(1, remainingMs / 1000));
+    }
+
+    public void onSuccess() {
+        consecutiveFailures.set(0);
+        if (openedAt >= 0) {
+            openedAt = -1;
+            log.info("Circuit breaker closed - Name: {}, database calls succeeding again", name);
+        }
+        probeInFlight.set(false);
+    }
+
+    public void onFailure() {
+        int failures = consecutiveFailures.incrementAndGet();
+        if (probeInFlight.getAndSet(false) || (failures >= failureThreshold && openedAt < 0)) {
+            openedAt = System.currentTimeMillis();
+            log.warn("Circuit breaker opened - Name: {}, after {} consecutive database failures", name, failures);
+        }
+    }
+
+    /** Releases a half-open probe that ended without a database verdict. */
+    public void onIgnored() {
+        probeInFlight.set(false);
+    }
+}
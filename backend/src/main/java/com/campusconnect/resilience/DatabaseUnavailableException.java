@@ -0,0 +1,18 @@
+package com.campusconnect.resilience;
+
+/**
+ * Thrown instead of calling Mongo when the circuit breaker is open or a
+ * repository bulkhead is full. Mapped to 503 by GlobalExceptionHandler.
+ */
+public class DatabaseUnavailableException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public DatabaseUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
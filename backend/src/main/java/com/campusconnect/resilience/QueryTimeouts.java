@@ -0,0 +1,16 @@
+package com.campusconnect.resilience;
+
+/**
+ * Server-side time limits (maxTimeMS) sent with repository queries, see {@code @Meta}.
+ * Inherited CRUD lookups cannot carry {@code @Meta}, hence the {@code findOneById}
+ * variants. Inserts, saves and deletes take no maxTimeMS on the server; they are
+ * bounded by the driver's socket timeout and the compartment breakers instead.
+ */
+public final class QueryTimeouts {
+    public static final long AUTH_MS = 1000;
+    public static final long READ_MS = 2000;
+    public static final long REPORT_MS = 5000;
+
+    private QueryTimeouts() {
+    }
+}
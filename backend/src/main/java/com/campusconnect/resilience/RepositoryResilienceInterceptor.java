@@ -0,0 +1,150 @@
+package com.campusconnect.resilience;
+
+import com.campusconnect.repository.ClubRepository;
+import com.campusconnect.repository.StudentRepository;
+import com.campusconnect.repository.TicketRepository;
+import com.mongodb.MongoConnectionPoolClearedException;
+import com.mongodb.MongoExecutionTimeoutException;
+import com.mongodb.MongoSocketException;
+import com.mongodb.MongoTimeoutException;
+import org.aopalliance.intercept.MethodInterceptor;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Wraps every repository call in a bulkhead and a circuit breaker.
+ * Auth lookups (clubs, students), booking writes (ticket save/delete) and all
+ * other reads each get their own permit pool and their own breaker, so a slow
+ * collection exhausts only its own share of request threads and cannot open
+ * the breaker for the others.
+ * <p>
+ * Spring Data repositories get the advice added to their existing proxy (see
+ * {@link #adviceFor}); plain data-access classes call {@link #guard} directly.
+ * Neither needs a proxy class generated at runtime, which keeps native images working.
+ */
+public class RepositoryResilienceInterceptor {
+
+    public enum Compartment { AUTH, BOOKING, READ }
+
+    private final Map<Compartment, CircuitBreaker> breakers;
+    private final Map<Compartment, Semaphore> bulkheads;
+    private final long waitMs;
+
+    public RepositoryResilienceInterceptor(Map<Compartment, CircuitBreaker> breakers,
+                                           Map<Compartment, Semaphore> bulkheads, long waitMs) {
+        this.breakers = breakers;
+        this.bulkheads = bulkheads;
+        this.waitMs = waitMs;
+    }
+
+    /** Advice for one repository proxy; compartments are resolved per method and cached. */
+    public MethodInterceptor adviceFor(Object repository) {
+        Map<Method, Compartment> compartments = new ConcurrentHashMap<>();
+        return invocation -> {
+            Method method = invocation.getMethod();
+            if (method.getDeclaringClass() == Object.class) {
+                return invocation.proceed();
+            }
+            Permit permit = enter(compartments.computeIfAbsent(method, m -> classify(repository, m)));
+            try {
+                Object result = invocation.proceed();
+                permit.succeeded();
+                return result;
+            } catch (Throwable t) {
+                permit.failed(t);
+                throw t;
+            } finally {
+                permit.release();
+            }
+        };
+    }
+
+    /** Runs a data-access call under the compartment's breaker and bulkhead. */
+    public <T> T guard(Compartment compartment, Supplier<T> call) {
+        Permit permit = enter(compartment);
+        try {
+            T result = call.get();
+            permit.succeeded();
+            return result;
+        } catch (RuntimeException e) {
+            permit.failed(e);
+            throw e;
+        } finally {
+            permit.release();
+        }
+    }
+
+    /** The breaker guarding one compartment, for writers that bypass the repositories. */
+    public CircuitBreaker breaker(Compartment compartment) {
+        return breakers.get(compartment);
+    }
+
+    private Permit enter(Compartment compartment) {
+        CircuitBreaker breaker = breakers.get(compartment);
+        Semaphore bulkhead = bulkheads.get(compartment);
+        breaker.acquire();
+        boolean acquired;
+        try {
+            acquired = bulkhead.tryAcquire(waitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            breaker.onIgnored();
+            throw new DatabaseUnavailableException("Too many concurrent " + compartment.name().toLowerCase() + " requests", 1);
+        }
+        return new Permit(breaker, bulkhead);
+    }
+
+    private record Permit(CircuitBreaker breaker, Semaphore bulkhead) {
+        void succeeded() {
+            breaker.onSuccess();
+        }
+
+        void failed(Throwable t) {
+            if (isDatabaseFailure(t)) {
+                breaker.onFailure();
+            } else {
+                breaker.onIgnored();
+            }
+        }
+
+        void release() {
+            bulkhead.release();
+        }
+    }
+
+    private static Compartment classify(Object repository, Method method) {
+        if (repository instanceof ClubRepository || repository instanceof StudentRepository) {
+            return Compartment.AUTH;
+        }
+        String name = method.getName();
+        if (repository instanceof TicketRepository
+                && (name.startsWith("save") || name.startsWith("insert") || name.startsWith("delete"))) {
+            return Compartment.BOOKING;
+        }
+        return Compartment.READ;
+    }
+
+    // Only an unreachable database counts against the breaker: connection, socket and
+    // server-selection failures. A query overrunning its maxTimeMS is a slow query, not an outage.
+    public static boolean isDatabaseFailure(Throwable t) {
+        for (Throwable c = t; c != null; c = c.getCause()) {
+            if (c instanceof MongoExecutionTimeoutException) {
+                return false;
+            }
+            if (c instanceof MongoSocketException
+                    || c instanceof MongoTimeoutException
+                    || c instanceof MongoConnectionPoolClearedException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -2,6 +2,7 @@ package com.campusconnect.security;
 
 import com.campusconnect.repository.ClubRepository;
 import com.campusconnect.repository.StudentRepository;
+import com.campusconnect.resilience.DatabaseUnavailableException;
 import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -52,7 +53,7 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                 log.debug("JWT parsed successfully - UserId: {}, Role: {}", userId, role);
                 
                 if ("club".equals(role)) {
-                    var club = clubRepo.findById(userId).orElse(null);
+                    var club = clubRepo.findOneById(userId).orElse(null);
                     if (club != null) {
                         var authToken = new UsernamePasswordAuthenticationToken(
                                 userId, null, List.of(new SimpleGrantedAuthority("ROLE_CLUB")));
@@ -63,7 +64,7 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                         log.warn("JWT authentication failed - Club not found for ClubId: {}", userId);
                     }
                 } else if ("student".equals(role)) {
-                    var student = studentRepo.findById(userId).orElse(null);
+                    var student = studentRepo.findOneById(userId).orElse(null);
                     if (student != null) {
                         var authToken = new UsernamePasswordAuthenticationToken(
                                 userId, null, List.of(new SimpleGrantedAuthority("ROLE_STUDENT")));
@@ -74,6 +75,14 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                         log.warn("JWT authentication failed - Student not found for StudentId: {}", userId);
                     }
                 }
+            } catch (DatabaseUnavailableException e) {
+                // Don't let an outage look like a bad token
+                log.warn("JWT authentication unavailable - {}", e.getMessage());
+                response.setStatus(503);
+                response.setHeader("Retry-After", String.valueOf(e.getRetryAfterSeconds()));
+                response.setContentType("application/json");
+                response.getWriter().write("{\"message\":\"" + e.getMessage() + "\"}");
+                return;
             } catch (Exception e) {
                 log.warn("JWT authentication failed - Invalid token: {}", e.getMessage());
             }
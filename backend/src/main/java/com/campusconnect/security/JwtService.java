@@ -7,18 +7,35 @@ import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.Date;
 
 @Service
 public class JwtService {
+    private static final String HMAC = "HmacSHA256";
+    private static final int TICKET_SIG_BYTES = 16;
+
     private final Key key;
     private final long expirationMs;
+    private final SecretKeySpec ticketKey;
+    private final ThreadLocal<Mac> ticketMac;
 
     public JwtService(@Value("${app.jwt.secret}") String secret,
                       @Value("${app.jwt.expiration-ms}") long expirationMs) {
         this.key = Keys.hmacShaKeyFor(secret.getBytes());
         this.expirationMs = expirationMs;
+        // Ticket tokens use a key derived from the JWT secret, so a ticket signature
+        // can never be replayed as (part of) a login token or vice versa
+        this.ticketKey = new SecretKeySpec(hmac(new SecretKeySpec(secret.getBytes(), HMAC),
+                "campusconnect-ticket-v1".getBytes(StandardCharsets.UTF_8)), HMAC);
+        this.ticketMac = ThreadLocal.withInitial(() -> newMac(ticketKey));
     }
 
     public String generateToken(Club club) {
@@ -51,4 +68,45 @@ public class JwtService {
     public Jws<Claims> parse(String token) {
         return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
     }
+
+    /**
+     * Compact QR payload {@code <ticketId>.<eventId>.<signature>}, where the
+     * signature is a truncated HMAC-SHA256 over the first two parts.
+     */
+    public String generateTicketToken(String ticketId, String eventId) {
+        String payload = ticketId + "." + eventId;
+        return payload + "." + ticketSignature(payload);
+    }
+
+    /** Verifies a ticket token without any lookup; returns {@code null} if forged or malformed. */
+    public TicketToken verifyTicketToken(String token) {
+        if (token == null) return null;
+        int last = token.lastIndexOf('.');
+        int first = token.indexOf('.');
+        if (first <= 0 || last <= first + 1 || last == token.length() - 1) return null;
+        String payload = token.substring(0, last);
+        byte[] expected = ticketSignature(payload).getBytes(StandardCharsets.US_ASCII);
+        byte[] actual = token.substring(last + 1).getBytes(StandardCharsets.US_ASCII);
+        if (!MessageDigest.isEqual(expected, actual)) return null;
+        return new TicketToken(token.substring(0, first), token.substring(first + 1, last));
+    }
+
+    private String ticketSignature(String payload) {
+        byte[] sig = ticketMac.get().doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(sig, TICKET_SIG_BYTES));
+    }
+
+    private static byte[] hmac(SecretKeySpec key, byte[] data) {
+        return newMac(key).doFinal(data);
+    }
+
+    private static Mac newMac(SecretKeySpec key) {
+        try {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
 }
@@ -0,0 +1,7 @@
+package com.campusconnect.security;
+
+/**
+ * Verified contents of a ticket QR token.
+ */
+public record TicketToken(String ticketId, String eventId) {
+}
@@ -0,0 +1,191 @@
+package com.campusconnect.service;
+
+import com.campusconnect.model.Event;
+import com.campusconnect.model.Ticket;
+import com.campusconnect.repository.AttendeeBucketStore;
+import com.campusconnect.repository.EventRepository;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Moves existing events onto the bucketed attendee layout. Runs at startup
+ * when {@code app.attendees.migrate} is set to a comma-separated list of event
+ * ids, or to {@code large} for every event at or above the bucket threshold.
+ * Events that are already bucketed are skipped (live bookings append to their
+ * buckets, so rebuilding them would race), and each event is claimed with a
+ * lock document so two instances never migrate the same event at once.
+ * Runs after the invalidation bus has started, so the flip reaches the other
+ * instances' catalogue caches.
+ */
+@Component
+public class AttendeeBucketMigration {
+    private static final Logger log = LoggerFactory.getLogger(AttendeeBucketMigration.class);
+    private static final String LOCKS = "migration_locks";
+    private static final Duration LOCK_STALE_AFTER = Duration.ofHours(1);
+
+    private final MongoTemplate mongo;
+    private final EventRepository eventRepo;
+    private final AttendeeBucketStore buckets;
+    private final AttendeeService attendees;
+    private final EventChangeFeed changeFeed;
+    private final EventCatalogCache catalogCache;
+    private final InvalidationBus bus;
+    private final String migrate;
+    private final long settleMs;
+
+    public AttendeeBucketMigration(MongoTemplate mongo, EventRepository eventRepo, AttendeeBucketStore buckets,
+                                   AttendeeService attendees, EventChangeFeed changeFeed, EventCatalogCache catalogCache,
+                                   InvalidationBus bus, @Value("${app.attendees.migrate:}") String migrate,
+                                   @Value("${app.attendees.migrate-settle-ms:15000}") long settleMs) {
+        this.mongo = mongo;
+        this.eventRepo = eventRepo;
+        this.buckets = buckets;
+        this.attendees = attendees;
+        this.changeFeed = changeFeed;
+        this.catalogCache = catalogCache;
+        this.bus = bus;
+        this.migrate = migrate;
+        this.settleMs = settleMs;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void run() {
+        if (migrate == null || migrate.isBlank()) return;
+
+        List<Event> events = new ArrayList<>();
+        if (migrate.trim().equals("large")) {
+            eventRepo.findAllLive().stream().filter(e -> attendees.bucketedFor(e.getCapacity())).forEach(events::add);
+        } else {
+            for (String id : migrate.split(",")) {
+                eventRepo.findLiveById(id.trim()).ifPresentOrElse(events::add,
+                        () -> log.warn("Attendee bucket migration - Event not found: {}", id.trim()));
+            }
+        }
+        for (Event evt : events) {
+            if (Boolean.TRUE.equals(evt.getBucketed())) {
+                log.info("Attendee bucket migration - EventId: {} already bucketed, skipped", evt.getId());
+                continue;
+            }
+            String lock = "attendee-buckets:" + evt.getId();
+            if (!claim(lock)) {
+                log.info("Attendee bucket migration - EventId: {} is being migrated elsewhere, skipped", evt.getId());
+                continue;
+            }
+            try {
+                migrate(evt);
+            } finally {
+                mongo.remove(Query.query(Criteria.where("_id").is(lock)), LOCKS);
+            }
+        }
+    }
+
+    private void migrate(Event evt) {
+        // Not bucketed yet, so nothing appends to these: leftovers of an interrupted run
+        buckets.deleteAll(evt.getId());
+
+        // Copy in _id order, a multiple of the bucket size at a time so only the last bucket is partial
+        int page = buckets.bucketSize() * 25;
+        long copied = 0;
+        String lastId = null;
+        List<Ticket> carry = new ArrayList<>();
+        Set<String> copiedIds = new HashSet<>();
+        while (true) {
+            List<Ticket> batch = page(evt.getId(), lastId, page);
+            if (batch.isEmpty()) break;
+            batch.forEach(t -> copiedIds.add(t.getId()));
+            carry.addAll(batch);
+            lastId = batch.get(batch.size() - 1).getId();
+            int full = carry.size() - carry.size() % buckets.bucketSize();
+            buckets.insertAll(evt.getId(), carry.subList(0, full));
+            copied += full;
+            carry = new ArrayList<>(carry.subList(full, carry.size()));
+        }
+        buckets.insertAll(evt.getId(), carry);
+        copied += carry.size();
+
+        // From here on bookings also append to buckets. A booking that read the event before
+        // the flip may still insert afterwards, with any _id, so reconcile against the whole
+        // ticket set now and again once such in-flight bookings have settled.
+        var flipped = mongo.updateFirst(Query.query(Criteria.where("_id").is(evt.getId()).and("bucketed").ne(true)),
+                changeFeed.stamp(Update.update("bucketed", true)), Event.class);
+        if (flipped.getModifiedCount() == 0) {
+            log.warn("Attendee bucket migration - EventId: {} was bucketed concurrently", evt.getId());
+            return;
+        }
+        catalogCache.invalidate();
+        bus.eventChanged(evt.getId());
+        long reconciled = reconcile(evt.getId(), copiedIds);
+        try {
+            Thread.sleep(settleMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        reconciled += reconcile(evt.getId(), copiedIds);
+        log.info("Attendee bucket migration - EventId: {}, Copied: {}, Reconciled: {}", evt.getId(), copied, reconciled);
+    }
+
+    /**
+     * Set difference on ticket ids in both directions: adds tickets no bucket holds
+     * yet, and drops copied entries whose ticket was cancelled before its entry
+     * landed. Entries not copied here belong to live bookings and are left alone.
+     */
+    private long reconcile(String eventId, Set<String> copiedIds) {
+        Set<String> bucketed = buckets.ticketIds(eventId);
+        Set<String> live = new HashSet<>();
+        long changed = 0;
+        for (Ticket t : mongo.find(Query.query(Criteria.where("eventId").is(eventId)), Ticket.class)) {
+            live.add(t.getId());
+            if (!bucketed.contains(t.getId()) && !buckets.contains(eventId, t.getId())) {
+                buckets.add(t);
+                changed++;
+            }
+        }
+        for (String id : copiedIds) {
+            if (!live.contains(id) && bucketed.contains(id)) {
+                buckets.remove(eventId, id);
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    private boolean claim(String lock) {
+        Instant now = Instant.now();
+        try {
+            mongo.insert(new Document("_id", lock).append("at", now), LOCKS);
+            return true;
+        } catch (DuplicateKeyException e) {
+            // Take over a lock left behind by a crashed run
+            Query stale = Query.query(Criteria.where("_id").is(lock).and("at").lt(now.minus(LOCK_STALE_AFTER)));
+            return mongo.updateFirst(stale, Update.update("at", now), LOCKS).getModifiedCount() == 1;
+        }
+    }
+
+    private List<Ticket> page(String eventId, String afterId, int limit) {
+        Criteria c = Criteria.where("eventId").is(eventId);
+        if (afterId != null) c = c.and("_id").gt(ObjectId.isValid(afterId) ? new ObjectId(afterId) : afterId);
+        return mongo.find(Query.query(c).with(Sort.by("_id")).limit(limit), Ticket.class);
+    }
+}
@@ -0,0 +1,47 @@
+package com.campusconnect.service;
+
+import com.campusconnect.model.Event;
+import com.campusconnect.model.Ticket;
+import com.campusconnect.repository.AttendeeBucketStore;
+import com.campusconnect.repository.TicketRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Attendee reads and writes that depend on the event's storage layout:
+ * per-ticket documents only, or additionally packed into attendee buckets.
+ */
+@Service
+public class AttendeeService {
+    private final TicketRepository ticketRepo;
+    private final AttendeeBucketStore buckets;
+    private final int bucketThreshold;
+
+    public AttendeeService(TicketRepository ticketRepo, AttendeeBucketStore buckets,
+                           @Value("${app.attendees.bucket-threshold:5000}") int bucketThreshold) {
+        this.ticketRepo = ticketRepo;
+        this.buckets = buckets;
+        this.bucketThreshold = bucketThreshold;
+    }
+
+    /** Whether a new event of this capacity should use the bucketed layout. */
+    public boolean bucketedFor(Integer capacity) {
+        return capacity != null && capacity >= bucketThreshold;
+    }
+
+    public List<Ticket> list(Event evt) {
+        return Boolean.TRUE.equals(evt.getBucketed()) ? buckets.findTickets(evt) : ticketRepo.findByEventId(evt.getId());
+    }
+
+    public void booked(Event evt, Ticket ticket) {
+        if (Boolean.TRUE.equals(evt.getBucketed())) {
+            buckets.add(ticket);
+        }
+    }
+
+    public void cancelled(Ticket ticket) {
+        buckets.remove(ticket.getEventId(), ticket.getId());
+    }
+}
@@ -0,0 +1,168 @@
+package com.campusconnect.service;
+
+import com.campusconnect.model.EventAnalytics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-event booking analytics. Bookings and cancellations are counted per
+ * minute in memory and flushed periodically (and on shutdown) as {@code $inc}
+ * updates to one {@code event_analytics} document per event per day, so
+ * instances add to each other's counts instead of overwriting them. Reports
+ * read those documents plus the local unflushed counts; never {@code tickets}.
+ */
+@Service
+public class BookingAnalyticsService {
+    private static final Logger log = LoggerFactory.getLogger(BookingAnalyticsService.class);
+    private static final int MINUTES_PER_DAY = 1440;
+
+    public record Report(String eventId, int capacity, Instant origin, int resolutionMinutes,
+                         int[] bookings, int[] cancellations, int[] filled,
+                         long booked, long cancelled, double cancellationRate,
+                         Instant soldOutAt, Long minutesToSellOut) {}
+
+    private final MongoTemplate mongo;
+    // Unflushed counts: event id -> epoch minute -> {bookings, cancellations}
+    private final Map<String, Map<Long, int[]>> pending = new ConcurrentHashMap<>();
+
+    public BookingAnalyticsService(MongoTemplate mongo) {
+        this.mongo = mongo;
+    }
+
+    public void booked(String eventId) {
+        record(eventId, currentMinute(), 1, 0);
+    }
+
+    public void cancelled(String eventId) {
+        record(eventId, currentMinute(), 0, 1);
+    }
+
+    public void removeEvent(String eventId) {
+        pending.remove(eventId);
+    }
+
+    // Inside compute so a concurrent flush never takes the map mid-update
+    private void record(String eventId, long minute, int bookings, int cancellations) {
+        pending.compute(eventId, (id, counts) -> {
+            Map<Long, int[]> c = counts != null ? counts : new HashMap<>();
+            int[] slot = c.computeIfAbsent(minute, m -> new int[2]);
+            slot[0] += bookings;
+            slot[1] += cancellations;
+            return c;
+        });
+    }
+
+    /** Report bucketed to {@code resolutionMinutes}; empty when the event has no bookings yet. */
+    public Optional<Report> report(String eventId, int capacity, int resolutionMinutes) {
+        TreeMap<Long, int[]> minutes = new TreeMap<>();
+        Query days = Query.query(Criteria.where("eventId").is(eventId));
+        for (EventAnalytics doc : mongo.find(days, EventAnalytics.class)) {
+            long dayStart = doc.getDay() * MINUTES_PER_DAY;
+            addAll(minutes, dayStart, doc.getBookings(), 0);
+            addAll(minutes, dayStart, doc.getCancellations(), 1);
+        }
+        pending.computeIfPresent(eventId, (id, counts) -> {
+            counts.forEach((m, c) -> {
+                int[] slot = minutes.computeIfAbsent(m, k -> new int[2]);
+                slot[0] += c[0];
+                slot[1] += c[1];
+            });
+            return counts;
+        });
+        if (minutes.isEmpty()) return Optional.empty();
+
+        int res = Math.max(1, resolutionMinutes);
+        long originMinute = minutes.firstKey();
+        int slots = (int) ((minutes.lastKey() - originMinute) / res) + 1;
+        int[] bookings = new int[slots];
+        int[] cancellations = new int[slots];
+        int[] filled = new int[slots];
+        Instant soldOutAt = null;
+        long booked = 0;
+        long cancelled = 0;
+        for (var e : minutes.entrySet()) {
+            int i = (int) ((e.getKey() - originMinute) / res);
+            bookings[i] += e.getValue()[0];
+            cancellations[i] += e.getValue()[1];
+            booked += e.getValue()[0];
+            cancelled += e.getValue()[1];
+            if (soldOutAt == null && capacity > 0 && booked - cancelled >= capacity) {
+                soldOutAt = minuteToInstant(e.getKey());
+            }
+        }
+        int net = 0;
+        for (int i = 0; i < slots; i++) {
+            net += bookings[i] - cancellations[i];
+            filled[i] = net;
+        }
+        Instant origin = minuteToInstant(originMinute);
+        return Optional.of(new Report(eventId, capacity, origin, res, bookings, cancellations, filled,
+                booked, cancelled, booked == 0 ? 0 : (double) cancelled / booked,
+                soldOutAt, soldOutAt == null ? null : TimeUnit.MILLISECONDS.toMinutes(
+                        soldOutAt.toEpochMilli() - origin.toEpochMilli())));
+    }
+
+    // One $inc upsert per event and day touched since the last flush; failed parts are kept for the next one
+    @Scheduled(fixedDelayString = "${app.analytics.snapshot-ms:30000}")
+    public void snapshot() {
+        int written = 0;
+        for (String eventId : List.copyOf(pending.keySet())) {
+            Map<Long, int[]> counts = pending.remove(eventId);
+            if (counts == null) continue;
+            TreeMap<Long, Map<Long, int[]>> byDay = new TreeMap<>();
+            counts.forEach((m, c) -> byDay.computeIfAbsent(Math.floorDiv(m, MINUTES_PER_DAY), d -> new HashMap<>()).put(m, c));
+            for (var day : byDay.entrySet()) {
+                try {
+                    mongo.upsert(Query.query(Criteria.where("_id").is(eventId + ":" + day.getKey())),
+                            increments(eventId, day.getKey(), day.getValue()), EventAnalytics.class);
+                    written++;
+                } catch (Exception e) {
+                    byDay.tailMap(day.getKey()).values().forEach(part -> part.forEach((m, c) -> record(eventId, m, c[0], c[1])));
+                    log.error("Analytics snapshot failed - EventId: {}, Error: {}", eventId, e.getMessage());
+                    break;
+                }
+            }
+        }
+        if (written > 0) log.debug("Analytics snapshot written - Documents: {}", written);
+    }
+
+    private static Update increments(String eventId, long day, Map<Long, int[]> counts) {
+        Update u = new Update().setOnInsert("eventId", eventId).setOnInsert("day", day).set("updatedAt", Instant.now());
+        counts.forEach((m, c) -> {
+            String minuteOfDay = String.valueOf(m - day * MINUTES_PER_DAY);
+            if (c[0] != 0) u.inc("bookings." + minuteOfDay, c[0]);
+            if (c[1] != 0) u.inc("cancellations." + minuteOfDay, c[1]);
+        });
+        return u;
+    }
+
+    private static void addAll(Map<Long, int[]> minutes, long dayStart, Map<String, Integer> counts, int index) {
+        if (counts == null) return;
+        counts.forEach((m, n) -> minutes.computeIfAbsent(dayStart + Long.parseLong(m), k -> new int[2])[index] += n);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        snapshot();
+    }
+
+    private static long currentMinute() {
+        return TimeUnit.MILLISECONDS.toMinutes(System.currentTimeMillis());
+    }
+
+    private static Instant minuteToInstant(long minute) {
+        return Instant.ofEpochMilli(TimeUnit.MINUTES.toMillis(minute));
+    }
+}
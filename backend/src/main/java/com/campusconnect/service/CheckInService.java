@@ -0,0 +1,203 @@
+package com.campusconnect.service;
+
+import com.campusconnect.model.CheckIn;
+import com.campusconnect.repository.CheckInRepository;
+import com.campusconnect.repository.EventRepository;
+import com.campusconnect.security.TicketToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Door check-in against signed ticket tokens. The admitted set of each event
+ * lives in memory (loaded once from {@code checkins} on the first scan for that
+ * event) and new admissions are written back in batches, so a scan costs a
+ * signature check and a map insert.
+ */
+@Service
+public class CheckInService {
+    private static final Logger log = LoggerFactory.getLogger(CheckInService.class);
+    private static final int DUPLICATE_KEY = 11000;
+
+    public enum Outcome { ADMITTED, ALREADY_ADMITTED, REVOKED, WRONG_EVENT, UNKNOWN_EVENT }
+
+    public record Result(Outcome outcome, String ticketId, String eventId, Instant admittedAt) {}
+
+    private record Gate(String clubId, Instant startsAt, Map<String, Instant> admitted, Set<String> revoked,
+                        AtomicLong lastUsed) {
+        void touch() {
+            lastUsed.set(System.currentTimeMillis());
+        }
+    }
+
+    private final CheckInRepository checkInRepo;
+    private final EventRepository eventRepo;
+    private final MongoTemplate mongo;
+    private final int flushBatchSize;
+    private final Duration gateTtl;
+    private final Map<String, Gate> gates = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<CheckIn> pending = new ConcurrentLinkedQueue<>();
+
+    public CheckInService(CheckInRepository checkInRepo, EventRepository eventRepo, MongoTemplate mongo,
+                          @Value("${app.checkin.flush-batch-size:1000}") int flushBatchSize,
+                          @Value("${app.checkin.gate-ttl-hours:12}") long gateTtlHours) {
+        this.checkInRepo = checkInRepo;
+        this.eventRepo = eventRepo;
+        this.mongo = mongo;
+        this.flushBatchSize = flushBatchSize;
+        this.gateTtl = Duration.ofHours(gateTtlHours);
+    }
+
+    /**
+     * Admits a verified ticket for the given club's event.
+     *
+     * @return empty if the event does not belong to the club
+     */
+    public Optional<Result> admit(TicketToken token, String clubId, String expectedEventId) {
+        if (expectedEventId != null && !expectedEventId.equals(token.eventId())) {
+            return Optional.of(new Result(Outcome.WRONG_EVENT, token.ticketId(), token.eventId(), null));
+        }
+        Gate gate = gate(token.eventId());
+        if (gate == null) {
+            return Optional.of(new Result(Outcome.UNKNOWN_EVENT, token.ticketId(), token.eventId(), null));
+        }
+        if (!gate.clubId().equals(clubId)) {
+            return Optional.empty();
+        }
+        if (gate.revoked().contains(token.ticketId())) {
+            return Optional.of(new Result(Outcome.REVOKED, token.ticketId(), token.eventId(), null));
+        }
+        Instant now = Instant.now();
+        Instant previous = gate.admitted().putIfAbsent(token.ticketId(), now);
+        if (previous != null) {
+            return Optional.of(new Result(Outcome.ALREADY_ADMITTED, token.ticketId(), token.eventId(), previous));
+        }
+        pending.add(new CheckIn(token.ticketId(), token.eventId(), now, null));
+        return Optional.of(new Result(Outcome.ADMITTED, token.ticketId(), token.eventId(), now));
+    }
+
+    /** Records a cancelled ticket so its token stops admitting. */
+    public void revoke(String ticketId, String eventId) {
+        mongo.upsert(Query.query(Criteria.where("_id").is(ticketId)),
+                Update.update("eventId", eventId).set("revoked", true), CheckIn.class);
+        markRevoked(ticketId, eventId);
+    }
+
+    /** In-memory part of {@link #revoke}, for revocations already stored by another instance. */
+    public void markRevoked(String ticketId, String eventId) {
+        Gate gate = gates.get(eventId);
+        if (gate != null) {
+            gate.revoked().add(ticketId);
+        }
+    }
+
+    /** Forgets an event's in-memory state, e.g. after the event is deleted. */
+    public void evict(String eventId) {
+        gates.remove(eventId);
+    }
+
+    /** Forgets every event's in-memory state; gates reload from {@code checkins} on the next scan. */
+    public void evictAll() {
+        gates.clear();
+    }
+
+    private Gate gate(String eventId) {
+        Gate gate = gates.get(eventId);
+        if (gate != null) {
+            gate.touch();
+            return gate;
+        }
+        var evt = eventRepo.findLiveById(eventId).orElse(null);
+        if (evt == null) return null;
+        return gates.computeIfAbsent(eventId, id -> {
+            Map<String, Instant> admitted = new ConcurrentHashMap<>();
+            Set<String> revoked = ConcurrentHashMap.newKeySet();
+            for (CheckIn c : checkInRepo.findByEventId(id)) {
+                if (Boolean.TRUE.equals(c.getRevoked())) {
+                    revoked.add(c.getId());
+                } else if (c.getAdmittedAt() != null) {
+                    admitted.put(c.getId(), c.getAdmittedAt());
+                }
+            }
+            log.info("Check-in gate opened - EventId: {}, Admitted: {}, Revoked: {}", id, admitted.size(), revoked.size());
+            return new Gate(evt.getClubId(), evt.getStartsAt(), admitted, revoked,
+                    new AtomicLong(System.currentTimeMillis()));
+        });
+    }
+
+    /**
+     * Drops gates of events that started more than the TTL ago and have not been
+     * scanned for as long (events without a start time: idle for the TTL). A late
+     * scan simply reloads the gate from {@code checkins}.
+     */
+    @Scheduled(fixedDelayString = "${app.checkin.gate-expiry-interval-ms:600000}")
+    public void expireGates() {
+        Instant cutoff = Instant.now().minus(gateTtl);
+        flush(); // reloaded gates must see every admission made so far
+        int removed = 0;
+        for (var e : gates.entrySet()) {
+            Gate g = e.getValue();
+            boolean started = g.startsAt() == null || g.startsAt().isBefore(cutoff);
+            if (started && g.lastUsed().get() < cutoff.toEpochMilli() && gates.remove(e.getKey(), g)) {
+                removed++;
+            }
+        }
+        if (removed > 0) {
+            log.info("Check-in gates expired - Removed: {}, Open: {}", removed, gates.size());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.checkin.flush-interval-ms:1000}")
+    public void flush() {
+        while (!pending.isEmpty()) {
+            List<CheckIn> batch = new ArrayList<>(flushBatchSize);
+            CheckIn next;
+            while (batch.size() < flushBatchSize && (next = pending.poll()) != null) {
+                batch.add(next);
+            }
+            try {
+                mongo.bulkOps(BulkOperations.BulkMode.UNORDERED, CheckIn.class).insert(batch).execute();
+            } catch (BulkOperationException e) {
+                // Unordered: everything not listed was written. Duplicates mean the ticket was
+                // admitted on another instance or revoked meanwhile; anything else is retried.
+                boolean retry = false;
+                for (var error : e.getErrors()) {
+                    if (error.getCode() != DUPLICATE_KEY) {
+                        pending.add(batch.get(error.getIndex()));
+                        retry = true;
+                    }
+                }
+                if (retry) return;
+            } catch (Exception e) {
+                log.error("Check-in flush failed, re-queueing {} admissions: {}", batch.size(), e.getMessage());
+                pending.addAll(batch);
+                return;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,115 @@
+package com.campusconnect.service;
+
+import com.campusconnect.model.AttendeeBucket;
+import com.campusconnect.model.Event;
+import com.campusconnect.model.Ticket;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Moves long-past events and their tickets out of the hot collections into
+ * {@code events_archive} / {@code tickets_archive}. Tickets go first, in
+ * batches, and the event last; copies are upserts by {@code _id}, so an
+ * interrupted run is simply repeated on the next schedule. The event itself
+ * is replaced by a tombstone so delta sync clients learn it is gone.
+ */
+@Service
+public class EventArchiver {
+    private static final Logger log = LoggerFactory.getLogger(EventArchiver.class);
+
+    public static final String EVENTS_ARCHIVE = "events_archive";
+    public static final String TICKETS_ARCHIVE = "tickets_archive";
+
+    private final MongoTemplate mongo;
+    private final EventCatalogCache catalogCache;
+    private final InvalidationBus bus;
+    private final EventChangeFeed changeFeed;
+    private final Duration archiveAfter;
+    private final int batchSize;
+    private final int maxEventsPerRun;
+
+    public EventArchiver(MongoTemplate mongo, EventCatalogCache catalogCache, InvalidationBus bus,
+                         EventChangeFeed changeFeed,
+                         @Value("${app.archive.after-days:180}") long afterDays,
+                         @Value("${app.archive.batch-size:500}") int batchSize,
+                         @Value("${app.archive.max-events-per-run:50}") int maxEventsPerRun) {
+        this.mongo = mongo;
+        this.catalogCache = catalogCache;
+        this.bus = bus;
+        this.changeFeed = changeFeed;
+        this.archiveAfter = Duration.ofDays(afterDays);
+        this.batchSize = batchSize;
+        this.maxEventsPerRun = maxEventsPerRun;
+    }
+
+    @Scheduled(cron = "${app.archive.cron:0 30 3 * * *}")
+    public void run() {
+        String events = mongo.getCollectionName(Event.class);
+        Instant cutoff = Instant.now().minus(archiveAfter);
+        Query due = Query.query(Criteria.where("startsAt").lt(cutoff).and("deleted").ne(true))
+                .with(Sort.by("startsAt"))
+                .limit(maxEventsPerRun);
+        try {
+            List<Document> batch = mongo.find(due, Document.class, events);
+            for (Document event : batch) {
+                Object id = event.get("_id");
+                long tickets = archiveTickets(id.toString());
+                // Buckets are a derived layout; the archived tickets are the record
+                mongo.remove(Query.query(Criteria.where("eventId").is(id.toString())), AttendeeBucket.class);
+                upsert(EVENTS_ARCHIVE, event);
+                Event tombstone = new Event();
+                tombstone.setId(id.toString());
+                tombstone.setDeleted(true);
+                tombstone.setPurged(true);
+                changeFeed.stamp(tombstone);
+                mongo.save(tombstone);
+                log.info("Event archived - EventId: {}, Name: {}, Tickets: {}", id, event.getString("name"), tickets);
+            }
+            if (!batch.isEmpty()) {
+                catalogCache.invalidate();
+                bus.catalogChanged();
+            }
+        } catch (Exception e) {
+            log.error("Event archiving failed - will retry on next run: {}", e.getMessage(), e);
+        }
+    }
+
+    private long archiveTickets(String eventId) {
+        String tickets = mongo.getCollectionName(Ticket.class);
+        long moved = 0;
+        while (true) {
+            Query page = Query.query(Criteria.where("eventId").is(eventId)).limit(batchSize);
+            List<Document> docs = mongo.find(page, Document.class, tickets);
+            if (docs.isEmpty()) {
+                return moved;
+            }
+            BulkOperations copy = mongo.bulkOps(BulkOperations.BulkMode.UNORDERED, TICKETS_ARCHIVE);
+            for (Document doc : docs) {
+                copy.replaceOne(Query.query(Criteria.where("_id").is(doc.get("_id"))), doc,
+                        FindAndReplaceOptions.options().upsert());
+            }
+            copy.execute();
+            List<Object> ids = docs.stream().map(d -> d.get("_id")).toList();
+            moved += mongo.remove(Query.query(Criteria.where("_id").in(ids)), tickets).getDeletedCount();
+        }
+    }
+
+    private void upsert(String collection, Document doc) {
+        mongo.findAndReplace(Query.query(Criteria.where("_id").is(doc.get("_id"))), doc,
+                FindAndReplaceOptions.options().upsert(), Document.class, collection);
+    }
+}
@@ -0,0 +1,218 @@
+package com.campusconnect.service;
+
+import com.campusconnect.model.Event;
+import com.campusconnect.repository.EventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized event catalogue ({@code GET /events} and {@code GET /events/{id}})
+ * held as immutable byte arrays, plain and gzip-encoded. Writers call
+ * {@link #invalidate()}; the snapshot is dropped at once (readers fall back to
+ * Mongo) and rebuilt on a background thread, so the hot path never serializes
+ * or compresses.
+ */
+@Service
+public class EventCatalogCache {
+    private static final Logger log = LoggerFactory.getLogger(EventCatalogCache.class);
+
+    /** Each encoding is its own representation, so each has its own entity tag. */
+    public record Body(byte[] identity, byte[] gzip, String etag, String gzipEtag) {}
+
+    private record Snapshot(Body listing, Map<String, Body> events) {}
+
+    private final EventRepository eventRepo;
+    private final ObjectMapper mapper;
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "event-catalog-rebuild");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Snapshot snapshot;
+    private volatile Snapshot lastBuilt; // survives invalidation; served only while the database is down
+
+    public EventCatalogCache(EventRepository eventRepo, ObjectMapper mapper) {
+        this.eventRepo = eventRepo;
+        this.mapper = mapper;
+    }
+
+    /** Current listing body, or {@code null} while a rebuild is pending. */
+    public Body listing() {
+        Snapshot s = snapshot;
+        return s == null ? null : s.listing();
+    }
+
+    /** Current body for one live event, or {@code null} if unknown or a rebuild is pending. */
+    public Body event(String id) {
+        Snapshot s = snapshot;
+        return s == null ? null : s.events().get(id);
+    }
+
+    /** Last built listing even if invalidated since, for degraded mode. */
+    public Body staleListing() {
+        Snapshot s = lastBuilt;
+        return s == null ? null : s.listing();
+    }
+
+    public Body staleEvent(String id) {
+        Snapshot s = lastBuilt;
+        return s == null ? null : s.events().get(id);
+    }
+
+    /** Drops the snapshot and schedules a rebuild. Call after any event write. */
+    public void invalidate() {
+        generation.incrementAndGet();
+        snapshot = null;
+        scheduleRebuild();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleRebuild() {
+        if (rebuildQueued.compareAndSet(false, true)) {
+            rebuilder.execute(this::rebuild);
+        }
+    }
+
+    private void rebuild() {
+        rebuildQueued.set(false);
+        long gen = generation.get();
+        try {
+            List<Event> events = eventRepo.findAllLive();
+            Map<String, Body> perEvent = new HashMap<>(events.size() * 2);
+            for (Event e : events) {
+                perEvent.put(e.getId(), encode(mapper.writeValueAsBytes(e)));
+            }
+            Snapshot built = new Snapshot(encode(mapper.writeValueAsBytes(events)), Map.copyOf(perEvent));
+            lastBuilt = built;
+            // A write that raced with this build has already queued another rebuild
+            if (generation.get() == gen) {
+                snapshot = built;
+                log.debug("Event catalogue cache rebuilt - Events: {}, Bytes: {}/{} (identity/gzip)",
+                        events.size(), built.listing().identity().length, built.listing().gzip().length);
+            }
+        } catch (Exception e) {
+            log.error("Event catalogue cache rebuild failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private static Body encode(byte[] json) throws IOException {
+        ByteArrayOutputStream buf = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gz = new GZIPOutputStream(buf)) {
+            gz.write(json);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(json);
+        String tag = Long.toHexString(crc.getValue()) + "-" + json.length;
+        return new Body(json, buf.toByteArray(), "\"" + tag + "\"", "\"" + tag + "-gz\"");
+    }
+
+    /**
+     * Writes a cached body as-is. The gzip form is chosen when the client accepts
+     * it; setting Content-Encoding also stops the container compressing it again.
+     */
+    public static ResponseEntity<byte[]> toResponse(Body body, String acceptEncoding, String ifNoneMatch) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+        String etag = gzip ? body.gzipEtag() : body.etag();
+        if (matchesAny(ifNoneMatch, etag)) {
+            return ResponseEntity.status(304).eTag(etag).header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING).build();
+        }
+        var builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(body.gzip());
+        }
+        return builder.body(body.identity());
+    }
+
+    /**
+     * If-None-Match uses weak comparison: {@code W/} prefixes are ignored, any tag
+     * in the list may match, and {@code *} matches whenever there is a body.
+     */
+    static boolean matchesAny(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) return false;
+        if (ifNoneMatch.trim().equals("*")) return true;
+        String opaque = etag.startsWith("W/") ? etag.substring(2) : etag;
+        int i = 0;
+        int n = ifNoneMatch.length();
+        while (i < n) {
+            char c = ifNoneMatch.charAt(i);
+            if (c == ' ' || c == '\t' || c == ',') {
+                i++;
+            } else if (ifNoneMatch.startsWith("W/", i)) {
+                i += 2;
+            } else if (c == '"') {
+                // Tags may contain commas, so read up to the closing quote rather than splitting
+                int end = ifNoneMatch.indexOf('"', i + 1);
+                if (end < 0) return false;
+                if (ifNoneMatch.regionMatches(i, opaque, 0, opaque.length()) && end + 1 - i == opaque.length()) {
+                    return true;
+                }
+                i = end + 1;
+            } else {
+                return false; // malformed: an unquoted tag
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether Accept-Encoding allows gzip: listed as {@code gzip} (or {@code x-gzip})
+     * with a non-zero q-value, or covered by a non-zero {@code *} when not listed.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) return false;
+        Double gzip = null;
+        Double any = null;
+        for (String part : acceptEncoding.split(",")) {
+            String[] params = part.split(";");
+            String coding = params[0].trim().toLowerCase();
+            double q = 1.0;
+            for (int i = 1; i < params.length; i++) {
+                String param = params[i].trim();
+                if (param.length() > 2 && (param.charAt(0) == 'q' || param.charAt(0) == 'Q') && param.charAt(1) == '=') {
+                    try {
+                        q = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        q = 0; // unreadable weight: don't risk sending an encoding the client refused
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = gzip == null ? q : Math.max(gzip, q);
+            } else if (coding.equals("*")) {
+                any = q;
+            }
+        }
+        if (gzip != null) return gzip > 0;
+        return any != null && any > 0;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+}
@@ -0,0 +1,156 @@
+package com.campusconnect.service;
+
+import com.campusconnect.dto.EventSyncResponse;
+import com.campusconnect.model.Event;
+import com.campusconnect.repository.EventRepository;
+import com.campusconnect.resilience.QueryTimeouts;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Delta sync for the event catalogue. Every create, update, delete and
+ * archive stamps the event with the next {@code changeSeq} from a shared
+ * counter, in the same write as the change itself, so an event can never be
+ * changed without being stamped. Deleted and archived events stay behind as
+ * tombstones. Clients pass back the last {@code seq} they saw and get the
+ * events stamped since.
+ * <p>
+ * A sequence number is issued before its write lands, so the returned cursor
+ * only covers stamps older than the grace period: every lower number was
+ * issued earlier still, so its write has landed (or failed). Newer stamps are
+ * returned again on the next sync. Clients behind the pruned tombstones, or
+ * too far behind, get a full snapshot instead.
+ */
+@Service
+public class EventChangeFeed {
+    private static final Logger log = LoggerFactory.getLogger(EventChangeFeed.class);
+    private static final String COUNTERS = "counters";
+    private static final String COUNTER_ID = "event_changes";
+
+    private final MongoTemplate mongo;
+    private final EventRepository eventRepo;
+    private final int maxChanges;
+    private final Duration grace;
+    private final Duration retention;
+
+    public EventChangeFeed(MongoTemplate mongo, EventRepository eventRepo,
+                           @Value("${app.sync.max-changes:500}") int maxChanges,
+                           @Value("${app.sync.grace-ms:5000}") long graceMs,
+                           @Value("${app.sync.retention-days:30}") long retentionDays) {
+        this.mongo = mongo;
+        this.eventRepo = eventRepo;
+        this.maxChanges = maxChanges;
+        this.grace = Duration.ofMillis(graceMs);
+        this.retention = Duration.ofDays(retentionDays);
+    }
+
+    /**
+     * Stamps the next sequence number on an event about to be written; the
+     * caller saves it together with the change. Throws if no number can be
+     * issued, so the write fails instead of going unseen by delta clients.
+     */
+    public void stamp(Event e) {
+        e.setChangeSeq(nextSeq());
+        e.setChangedAt(Instant.now());
+    }
+
+    /** The same, for writes that go through an {@link Update} instead of a saved entity. */
+    public Update stamp(Update update) {
+        return update.set("changeSeq", nextSeq()).set("changedAt", Instant.now());
+    }
+
+    /**
+     * Full snapshot when {@code since} is null, behind the pruned tombstones,
+     * or more than {@code app.sync.max-changes} behind; otherwise a delta.
+     */
+    public EventSyncResponse sync(Long since) {
+        if (since == null) return snapshot();
+        if (since < floor()) {
+            log.info("Event sync fallback - Since: {} is behind the retained tombstones", since);
+            return snapshot();
+        }
+        Query changed = Query.query(Criteria.where("changeSeq").gt(since))
+                .with(Sort.by("changeSeq"))
+                .limit(maxChanges + 1);
+        changed.maxTimeMsec(QueryTimeouts.READ_MS);
+        List<Event> events = mongo.find(changed, Event.class);
+        if (events.size() > maxChanges) {
+            log.info("Event sync fallback - Since: {} is more than {} changes behind", since, maxChanges);
+            return snapshot();
+        }
+
+        Instant settled = Instant.now().minus(grace);
+        long cursor = since;
+        List<Event> upserts = new ArrayList<>();
+        List<String> deleted = new ArrayList<>();
+        for (Event e : events) {
+            if (Boolean.TRUE.equals(e.getDeleted())) {
+                deleted.add(e.getId());
+            } else {
+                upserts.add(e);
+            }
+            if (!e.getChangedAt().isAfter(settled)) {
+                cursor = Math.max(cursor, e.getChangeSeq());
+            }
+        }
+        return new EventSyncResponse("delta", cursor, upserts, deleted);
+    }
+
+    private EventSyncResponse snapshot() {
+        // Cursor first: only stamps old enough that their writes have landed, so
+        // the events loaded below reflect every change up to it
+        Query settled = Query.query(Criteria.where("changedAt").lte(Instant.now().minus(grace)))
+                .with(Sort.by(Sort.Direction.DESC, "changeSeq"))
+                .limit(1);
+        Event last = mongo.findOne(settled, Event.class);
+        long cursor = Math.max(last == null || last.getChangeSeq() == null ? 0 : last.getChangeSeq(), floor());
+        return new EventSyncResponse("snapshot", cursor, eventRepo.findAllLive(), List.of());
+    }
+
+    // Drops old tombstones; the floor tells sync which cursors can no longer be served as deltas
+    @Scheduled(cron = "${app.sync.prune-cron:0 15 4 * * *}")
+    public void prune() {
+        try {
+            Instant cutoff = Instant.now().minus(retention);
+            Criteria expired = Criteria.where("purged").is(true).and("changedAt").lt(cutoff);
+            Query newest = Query.query(expired).with(Sort.by(Sort.Direction.DESC, "changeSeq")).limit(1);
+            Event newestOld = mongo.findOne(newest, Event.class);
+            if (newestOld == null) return;
+            mongo.updateFirst(Query.query(Criteria.where("_id").is(COUNTER_ID)),
+                    new Update().max("floor", newestOld.getChangeSeq()), COUNTERS);
+            Query old = Query.query(Criteria.where("purged").is(true).and("changeSeq").lte(newestOld.getChangeSeq()));
+            long removed = mongo.remove(old, Event.class).getDeletedCount();
+            log.info("Event tombstones pruned - Removed: {}, Floor: {}", removed, newestOld.getChangeSeq());
+        } catch (Exception e) {
+            log.error("Event tombstone prune failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private long nextSeq() {
+        Document doc = mongo.findAndModify(Query.query(Criteria.where("_id").is(COUNTER_ID)),
+                new Update().inc("seq", 1L),
+                FindAndModifyOptions.options().returnNew(true).upsert(true),
+                Document.class, COUNTERS);
+        return ((Number) doc.get("seq")).longValue();
+    }
+
+    private long floor() {
+        Document doc = mongo.findById(COUNTER_ID, Document.class, COUNTERS);
+        return doc != null && doc.get("floor") instanceof Number n ? n.longValue() : 0;
+    }
+}
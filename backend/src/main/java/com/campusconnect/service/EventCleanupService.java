@@ -0,0 +1,108 @@
+package com.campusconnect.service;
+
+import com.campusconnect.model.AttendeeBucket;
+import com.campusconnect.model.CheckIn;
+import com.campusconnect.model.Event;
+import com.campusconnect.model.EventAnalytics;
+import com.campusconnect.model.Ticket;
+import com.campusconnect.repository.EventRepository;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Purges the tickets of soft-deleted events in small batches, then marks the
+ * event {@code purged}; the row stays as a delta sync tombstone until
+ * {@link EventChangeFeed#prune()} drops it. All progress lives in Mongo (the
+ * flags and the remaining tickets), so a restart simply picks up where it left off.
+ */
+@Service
+public class EventCleanupService {
+    private static final Logger log = LoggerFactory.getLogger(EventCleanupService.class);
+
+    private final EventRepository eventRepo;
+    private final MongoTemplate mongo;
+    private final int batchSize;
+    private final long batchPauseMs;
+    private volatile boolean sweepOrphans;
+
+    public EventCleanupService(EventRepository eventRepo, MongoTemplate mongo,
+                               @Value("${app.cleanup.batch-size:500}") int batchSize,
+                               @Value("${app.cleanup.batch-pause-ms:50}") long batchPauseMs,
+                               @Value("${app.cleanup.sweep-orphans:false}") boolean sweepOrphans) {
+        this.eventRepo = eventRepo;
+        this.mongo = mongo;
+        this.batchSize = batchSize;
+        this.batchPauseMs = batchPauseMs;
+        this.sweepOrphans = sweepOrphans;
+    }
+
+    @Scheduled(initialDelayString = "${app.cleanup.interval-ms:5000}", fixedDelayString = "${app.cleanup.interval-ms:5000}")
+    public void run() {
+        try {
+            for (Event event : eventRepo.findPendingCleanup()) {
+                long removed = purgeTickets(event.getId());
+                mongo.remove(Query.query(Criteria.where("eventId").is(event.getId())), CheckIn.class);
+                mongo.remove(Query.query(Criteria.where("eventId").is(event.getId())), AttendeeBucket.class);
+                mongo.remove(Query.query(Criteria.where("eventId").is(event.getId())), EventAnalytics.class);
+                mongo.updateFirst(Query.query(Criteria.where("_id").is(event.getId())),
+                        Update.update("purged", true), Event.class);
+                log.info("Event cleanup completed - EventId: {}, TicketsRemoved: {}", event.getId(), removed);
+            }
+            if (sweepOrphans) {
+                sweepOrphanedTickets();
+                sweepOrphans = false;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Event cleanup failed - will retry: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * One-off sweep for tickets whose event was hard-deleted before soft deletes
+     * existed. Enabled with {@code app.cleanup.sweep-orphans=true}; runs once per start.
+     */
+    void sweepOrphanedTickets() throws InterruptedException {
+        String tickets = mongo.getCollectionName(Ticket.class);
+        List<String> eventIds = mongo.findDistinct(new Query(), "eventId", tickets, String.class);
+        log.info("Orphan sweep started - Distinct eventIds in tickets: {}", eventIds.size());
+        long total = 0;
+        for (String eventId : eventIds) {
+            if (eventId == null || !eventRepo.existsById(eventId)) {
+                total += purgeTickets(eventId);
+            }
+        }
+        log.info("Orphan sweep completed - TicketsRemoved: {}", total);
+    }
+
+    // Deletes by _id in bounded batches with a pause in between, so a large
+    // event never turns into one long-running deleteMany on the primary.
+    private long purgeTickets(String eventId) throws InterruptedException {
+        String tickets = mongo.getCollectionName(Ticket.class);
+        long removed = 0;
+        while (true) {
+            Query page = Query.query(Criteria.where("eventId").is(eventId)).limit(batchSize);
+            page.fields().include("_id");
+            List<Object> ids = mongo.find(page, Document.class, tickets).stream()
+                    .map(d -> d.get("_id"))
+                    .toList();
+            if (ids.isEmpty()) {
+                return removed;
+            }
+            removed += mongo.remove(Query.query(Criteria.where("_id").in(ids)), tickets).getDeletedCount();
+            log.debug("Ticket cleanup batch - EventId: {}, Removed so far: {}", eventId, removed);
+            Thread.sleep(batchPauseMs);
+        }
+    }
+}
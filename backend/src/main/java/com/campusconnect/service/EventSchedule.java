@@ -0,0 +1,34 @@
+package com.campusconnect.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Turns the free-form event date/time strings into the indexed
+ * {@code Event.startsAt} instant, interpreted in the campus time zone.
+ */
+@Component
+public class EventSchedule {
+    private final ZoneId zone;
+
+    public EventSchedule(@Value("${app.events.zone:UTC}") String zone) {
+        this.zone = ZoneId.of(zone);
+    }
+
+    /** Returns the start instant, or {@code null} if the strings do not parse. */
+    public Instant startOf(String date, String time) {
+        if (date == null || date.isBlank()) return null;
+        try {
+            LocalTime t = time == null || time.isBlank() ? LocalTime.MIDNIGHT : LocalTime.parse(time.trim());
+            return LocalDate.parse(date.trim()).atTime(t).atZone(zone).toInstant();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.campusconnect.service;
+
+import com.campusconnect.model.Event;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Backfills {@code startsAt} on events created before it existed. Only touches
+ * documents that still lack the field, so it is a no-op once done.
+ */
+@Component
+public class EventStartTimeMigration implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(EventStartTimeMigration.class);
+    private static final int BATCH_SIZE = 500;
+
+    private final MongoTemplate mongo;
+    private final EventSchedule schedule;
+    private final EventChangeFeed changeFeed;
+
+    public EventStartTimeMigration(MongoTemplate mongo, EventSchedule schedule, EventChangeFeed changeFeed) {
+        this.mongo = mongo;
+        this.schedule = schedule;
+        this.changeFeed = changeFeed;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        String events = mongo.getCollectionName(Event.class);
+        Query pending = Query.query(Criteria.where("startsAt").exists(false));
+        pending.fields().include("date").include("time");
+        pending.limit(BATCH_SIZE);
+
+        long migrated = 0;
+        long unparseable = 0;
+        Object lastId = null;
+        while (true) {
+            Query page = Query.of(pending);
+            if (lastId != null) page.addCriteria(Criteria.where("_id").gt(lastId));
+            page.with(Sort.by("_id"));
+            List<Document> docs = mongo.find(page, Document.class, events);
+            if (docs.isEmpty()) break;
+
+            BulkOperations bulk = mongo.bulkOps(BulkOperations.BulkMode.UNORDERED, events);
+            int updates = 0;
+            for (Document doc : docs) {
+                Instant start = schedule.startOf(doc.getString("date"), doc.getString("time"));
+                if (start == null) {
+                    unparseable++;
+                    continue;
+                }
+                bulk.updateOne(Query.query(Criteria.where("_id").is(doc.get("_id"))), changeFeed.stamp(Update.update("startsAt", start)));
+                updates++;
+            }
+            if (updates > 0) bulk.execute();
+            migrated += updates;
+            lastId = docs.get(docs.size() - 1).get("_id");
+        }
+        if (migrated > 0 || unparseable > 0) {
+            log.info("Event startsAt migration - Migrated: {}, Unparseable date/time: {}", migrated, unparseable);
+        }
+    }
+}
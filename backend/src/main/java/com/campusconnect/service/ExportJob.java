@@ -0,0 +1,49 @@
+package com.campusconnect.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * State of one asynchronous attendee export. Mutated only by the export worker.
+ */
+@Getter
+public class ExportJob {
+    public enum Status { QUEUED, RUNNING, DONE, FAILED }
+
+    private final String id = UUID.randomUUID().toString();
+    private final String eventId;
+    private final Instant createdAt = Instant.now();
+    @JsonIgnore
+    private final long generation; // ticket generation of the event at submit time
+    private volatile Status status = Status.QUEUED;
+    private volatile String fileName;
+    private volatile long size;
+    private volatile String error;
+    @JsonIgnore
+    private volatile Path file;
+
+    ExportJob(String eventId, long generation) {
+        this.eventId = eventId;
+        this.generation = generation;
+    }
+
+    void running() {
+        status = Status.RUNNING;
+    }
+
+    void done(Path file, String fileName, long size) {
+        this.file = file;
+        this.fileName = fileName;
+        this.size = size;
+        status = Status.DONE;
+    }
+
+    void failed(String error) {
+        this.error = error;
+        status = Status.FAILED;
+    }
+}
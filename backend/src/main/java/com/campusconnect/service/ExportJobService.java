@@ -0,0 +1,154 @@
+package com.campusconnect.service;
+
+import com.campusconnect.repository.EventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.*;
+
+/**
+ * Runs attendee exports on a small bounded pool and keeps the finished workbook
+ * on local disk. A finished export is reused for every later request for the
+ * same event until {@link #invalidate(String)} is called for it (a booking,
+ * cancellation or event edit).
+ */
+@Service
+public class ExportJobService {
+    private static final Logger log = LoggerFactory.getLogger(ExportJobService.class);
+
+    private final AttendeeService attendees;
+    private final EventRepository eventRepo;
+    private final TicketWorkbookWriter workbookWriter;
+    private final Path dir;
+    private final long jobTtlMs;
+    private final ThreadPoolExecutor pool;
+
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, ExportJob> latestByEvent = new ConcurrentHashMap<>();
+    private final Map<String, Long> generations = new ConcurrentHashMap<>();
+
+    public ExportJobService(AttendeeService attendees, EventRepository eventRepo,
+                            TicketWorkbookWriter workbookWriter,
+                            @Value("${app.export.dir:${java.io.tmpdir}/campusconnect-exports}") String dir,
+                            @Value("${app.export.workers:2}") int workers,
+                            @Value("${app.export.queue-size:16}") int queueSize,
+                            @Value("${app.export.job-ttl-ms:3600000}") long jobTtlMs) throws IOException {
+        this.attendees = attendees;
+        this.eventRepo = eventRepo;
+        this.workbookWriter = workbookWriter;
+        this.dir = Files.createDirectories(Path.of(dir));
+        this.jobTtlMs = jobTtlMs;
+        this.pool = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                r -> {
+                    Thread t = new Thread(r, "export-worker");
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Returns the current export for the event if one is queued, running or
+     * still valid; otherwise queues a new one.
+     *
+     * @throws RejectedExecutionException when the export queue is full
+     */
+    public synchronized ExportJob submit(String eventId) {
+        ExportJob current = latestByEvent.get(eventId);
+        if (current != null && current.getStatus() != ExportJob.Status.FAILED
+                && current.getGeneration() == generation(eventId)) {
+            return current;
+        }
+        ExportJob job = new ExportJob(eventId, generation(eventId));
+        pool.execute(() -> run(job));
+        jobs.put(job.getId(), job);
+        latestByEvent.put(eventId, job);
+        log.info("Export job queued - JobId: {}, EventId: {}", job.getId(), eventId);
+        return job;
+    }
+
+    public Optional<ExportJob> find(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    /** Drops the cached export for the event; the next submit rebuilds it. */
+    public synchronized void invalidate(String eventId) {
+        generations.merge(eventId, 1L, Long::sum);
+        latestByEvent.remove(eventId);
+    }
+
+    public synchronized void invalidateAll() {
+        latestByEvent.keySet().forEach(this::invalidate);
+    }
+
+    private long generation(String eventId) {
+        return generations.getOrDefault(eventId, 0L);
+    }
+
+    private void run(ExportJob job) {
+        job.running();
+        try {
+            var evt = eventRepo.findLiveById(job.getEventId()).orElse(null);
+            if (evt == null) {
+                job.failed("Event not found");
+                return;
+            }
+            var tickets = attendees.list(evt);
+            Path tmp = Files.createTempFile(dir, job.getId(), ".part");
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                workbookWriter.write(tickets, out);
+            }
+            Path file = Files.move(tmp, dir.resolve(job.getId() + ".xlsx"));
+            job.done(file, workbookWriter.fileName(evt), Files.size(file));
+            log.info("Export job completed - JobId: {}, EventId: {}, TicketCount: {}, Bytes: {}",
+                    job.getId(), evt.getId(), tickets.size(), job.getSize());
+        } catch (Exception e) {
+            log.error("Export job failed - JobId: {}, EventId: {}, Error: {}",
+                    job.getId(), job.getEventId(), e.getMessage(), e);
+            job.failed(e.getMessage());
+        }
+    }
+
+    // Expired jobs are forgotten and their files removed. Downloads already in
+    // flight keep their open file handle, so deleting underneath them is safe.
+    @Scheduled(fixedDelayString = "${app.export.sweep-interval-ms:300000}")
+    public void expire() {
+        Instant cutoff = Instant.now().minusMillis(jobTtlMs);
+        jobs.values().removeIf(job -> {
+            if (job.getCreatedAt().isAfter(cutoff)
+                    || job.getStatus() == ExportJob.Status.QUEUED
+                    || job.getStatus() == ExportJob.Status.RUNNING) {
+                return false;
+            }
+            latestByEvent.remove(job.getEventId(), job);
+            deleteQuietly(job.getFile());
+            return true;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) return;
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete export file {}: {}", file, e.getMessage());
+        }
+    }
+}
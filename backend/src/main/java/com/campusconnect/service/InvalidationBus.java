@@ -0,0 +1,315 @@
+package com.campusconnect.service;
+
+import com.campusconnect.model.InvalidationMessage;
+import com.mongodb.CursorType;
+import com.mongodb.client.MongoCursor;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.CollectionOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the in-process caches of several instances in step. Writers publish
+ * small messages to a capped collection; every instance tails it and applies
+ * the messages of the other instances. Sequence numbers are per origin, and a
+ * gap (or a lost tail position) flushes every local cache, since what was
+ * missed is unknown. Publishing goes through a bounded queue; a message that
+ * does not fit is dropped, which receivers see as a gap.
+ * <p>
+ * Ticket messages also feed the other instances' trending counters, which
+ * are otherwise per instance; a flush rebuilds them from {@code tickets}.
+ */
+@Service
+public class InvalidationBus {
+    private static final Logger log = LoggerFactory.getLogger(InvalidationBus.class);
+    private static final String COLLECTION = "invalidations";
+
+    public enum Topic { HELLO, CATALOG, EVENT, EVENT_DELETED, TICKET_BOOKED, TICKET_CANCELLED, ACCOUNT }
+
+    private final MongoTemplate mongo;
+    private final EventCatalogCache catalogCache;
+    private final ExportJobService exportJobs;
+    private final CheckInService checkIns;
+    private final TrendingService trending;
+    private final BookingAnalyticsService analytics;
+    private final boolean enabled;
+    private final long cappedBytes;
+    private final long cappedDocs;
+    private final long awaitMs;
+    private final ThreadPoolExecutor publisher;
+
+    private final String origin = new ObjectId().toHexString();
+    private final AtomicLong seq = new AtomicLong();
+    private final Map<String, Long> lastSeen = new ConcurrentHashMap<>();
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong applied = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean running;
+    private Thread tailer;
+
+    public InvalidationBus(MongoTemplate mongo, EventCatalogCache catalogCache, ExportJobService exportJobs,
+                           CheckInService checkIns, TrendingService trending, BookingAnalyticsService analytics,
+                           @Value("${app.invalidation.enabled:true}") boolean enabled,
+                           @Value("${app.invalidation.capped-bytes:1048576}") long cappedBytes,
+                           @Value("${app.invalidation.capped-docs:10000}") long cappedDocs,
+                           @Value("${app.invalidation.await-ms:1000}") long awaitMs,
+                           @Value("${app.invalidation.queue-capacity:1024}") int queueCapacity) {
+        this.mongo = mongo;
+        this.catalogCache = catalogCache;
+        this.exportJobs = exportJobs;
+        this.checkIns = checkIns;
+        this.trending = trending;
+        this.analytics = analytics;
+        this.enabled = enabled;
+        this.cappedBytes = cappedBytes;
+        this.cappedDocs = cappedDocs;
+        this.awaitMs = awaitMs;
+        // Single thread, so messages leave in sequence order
+        this.publisher = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "invalidation-publisher");
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public void catalogChanged() {
+        publish(Topic.CATALOG, null, null, null);
+    }
+
+    public void eventChanged(String eventId) {
+        publish(Topic.EVENT, eventId, eventId, null);
+    }
+
+    public void eventDeleted(String eventId) {
+        publish(Topic.EVENT_DELETED, eventId, eventId, null);
+    }
+
+    public void ticketBooked(String ticketId, String eventId, String eventName) {
+        publish(Topic.TICKET_BOOKED, ticketId, eventId, eventName);
+    }
+
+    public void ticketCancelled(String ticketId, String eventId) {
+        publish(Topic.TICKET_CANCELLED, ticketId, eventId, null);
+    }
+
+    /** No instance caches principals today; published so such a cache can subscribe. */
+    public void accountChanged(String email) {
+        publish(Topic.ACCOUNT, email, null, null);
+    }
+
+    /** Number of full flushes caused by gaps or lost tail positions. */
+    public long flushes() {
+        return flushes.get();
+    }
+
+    /** Number of messages from other instances applied in sequence. */
+    public long applied() {
+        return applied.get();
+    }
+
+    /** Number of messages not published because the queue was full. */
+    public long dropped() {
+        return dropped.get();
+    }
+
+    // The caller has already invalidated its own caches; this only informs the other instances.
+    // A failed or dropped insert still consumes its sequence number, so receivers see the gap and flush.
+    private void publish(Topic topic, String key, String eventId, String eventName) {
+        if (!running) return;
+        var msg = new InvalidationMessage(null, origin, seq.incrementAndGet(), topic.name(), key, eventId, eventName, Instant.now());
+        try {
+            publisher.execute(() -> {
+                try {
+                    mongo.insert(msg, COLLECTION);
+                } catch (Exception e) {
+                    log.warn("Invalidation publish failed - Topic: {}, Seq: {}, Error: {}", topic, msg.getSeq(), e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            long n = dropped.incrementAndGet();
+            if (n == 1 || n % 1000 == 0) {
+                log.warn("Invalidation queue full - Dropped: {}", n);
+            }
+        }
+    }
+
+    // Before other ready listeners, which may publish
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void start() {
+        if (!enabled) {
+            log.info("Invalidation bus disabled");
+            return;
+        }
+        try {
+            if (!mongo.collectionExists(COLLECTION)) {
+                mongo.createCollection(COLLECTION, CollectionOptions.empty().capped().size(cappedBytes).maxDocuments(cappedDocs));
+            }
+        } catch (Exception e) {
+            // Another instance may have created it first
+            log.debug("Invalidation collection create skipped: {}", e.getMessage());
+        }
+        running = true;
+        tailer = new Thread(this::tail, "invalidation-tailer");
+        tailer.setDaemon(true);
+        tailer.start();
+        // Also guarantees a non-empty collection, which a tailable cursor needs
+        publish(Topic.HELLO, null, null, null);
+        log.info("Invalidation bus started - Origin: {}", origin);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        publisher.shutdown();
+        publisher.awaitTermination(2, TimeUnit.SECONDS);
+        if (tailer != null) {
+            tailer.interrupt();
+            tailer.join(TimeUnit.SECONDS.toMillis(2));
+        }
+    }
+
+    /*
+     * ObjectIds from different hosts are not in insertion order, so the position is
+     * resumed by $natural order instead: every (re)opened cursor reads the capped
+     * collection from its start and skips up to and including the last message seen.
+     * If that message has been overwritten meanwhile, what was missed is unknown.
+     */
+    private void tail() {
+        // Start after the newest message; anything older predates this instance's caches
+        Object lastId = newestId();
+        boolean resumed = false;
+        while (running) {
+            boolean found = lastId == null;
+            try (MongoCursor<Document> cursor = mongo.getCollection(COLLECTION).find()
+                    .cursorType(CursorType.TailableAwait)
+                    .maxAwaitTime(awaitMs, TimeUnit.MILLISECONDS)
+                    .noCursorTimeout(true)
+                    .iterator()) {
+                while (running) {
+                    Document doc = cursor.tryNext();
+                    if (doc == null) {
+                        if (!found) {
+                            // Caught up without meeting the last position: it was overwritten
+                            if (resumed) flushAll("tail position overwritten");
+                            found = true;
+                        }
+                        if (cursor.getServerCursor() == null) break; // dead cursor, e.g. nothing to tail yet
+                        continue;
+                    }
+                    if (!found) {
+                        found = doc.get("_id").equals(lastId);
+                        continue;
+                    }
+                    lastId = doc.get("_id");
+                    apply(mongo.getConverter().read(InvalidationMessage.class, doc));
+                }
+                pause();
+            } catch (Exception e) {
+                if (!running) return;
+                // Typically CappedPositionLost: messages were overwritten before we read them
+                log.warn("Invalidation tail lost - Error: {}", e.getMessage());
+                flushAll("tail lost");
+                lastId = newestId();
+                resumed = false;
+                pause();
+                continue;
+            }
+            resumed = true;
+        }
+    }
+
+    private void apply(InvalidationMessage msg) {
+        if (origin.equals(msg.getOrigin())) return;
+        Long prev = lastSeen.get(msg.getOrigin());
+        if (prev != null && msg.getSeq() <= prev) return;
+        lastSeen.put(msg.getOrigin(), msg.getSeq());
+        if (prev != null && msg.getSeq() != prev + 1) {
+            flushAll("gap from " + msg.getOrigin() + ": " + prev + " -> " + msg.getSeq());
+            return;
+        }
+        applied.incrementAndGet();
+        String eventId = msg.getEventId();
+        switch (Topic.valueOf(msg.getTopic())) {
+            case CATALOG -> catalogCache.invalidate();
+            case EVENT -> {
+                catalogCache.invalidate();
+                exportJobs.invalidate(eventId);
+            }
+            case EVENT_DELETED -> {
+                catalogCache.invalidate();
+                exportJobs.invalidate(eventId);
+                checkIns.evict(eventId);
+                trending.removeEvent(eventId);
+                // Unflushed counts of this instance's own bookings would re-create the analytics documents
+                analytics.removeEvent(eventId);
+            }
+            case TICKET_BOOKED -> {
+                exportJobs.invalidate(eventId);
+                trending.booked(eventId, msg.getEventName());
+            }
+            case TICKET_CANCELLED -> {
+                exportJobs.invalidate(eventId);
+                checkIns.markRevoked(msg.getKey(), eventId);
+                // Ticket ids are ObjectIds, whose timestamp is the booking time
+                if (ObjectId.isValid(msg.getKey())) {
+                    trending.cancelled(eventId, new ObjectId(msg.getKey()).getDate().getTime());
+                }
+            }
+            case HELLO, ACCOUNT -> {
+            }
+        }
+    }
+
+    private void flushAll(String reason) {
+        flushes.incrementAndGet();
+        catalogCache.invalidate();
+        exportJobs.invalidateAll();
+        checkIns.evictAll();
+        trending.rebuild();
+        log.warn("Invalidation full flush - Reason: {}", reason);
+    }
+
+    private Object newestId() {
+        try {
+            Query newest = new Query().with(Sort.by(Sort.Direction.DESC, "$natural")).limit(1);
+            Document doc = mongo.findOne(newest, Document.class, COLLECTION);
+            return doc == null ? null : doc.get("_id");
+        } catch (Exception e) {
+            log.warn("Invalidation position lookup failed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(awaitMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.campusconnect.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free per-minute counter over the last 24 hours. Each slot packs the
+ * minute it belongs to (high 32 bits) with its count (low 32 bits), so
+ * rolling a slot over to a new minute and counting into it is a single CAS.
+ */
+public class SlidingWindowCounter {
+    public static final int MINUTES = 24 * 60;
+
+    private final AtomicLongArray slots = new AtomicLongArray(MINUTES);
+
+    /** Adds {@code delta} to the given epoch minute; ignored if it is older than 24h. */
+    public void add(long epochMinute, int delta, long nowMinute) {
+        if (epochMinute <= nowMinute - MINUTES || epochMinute > nowMinute) return;
+        int idx = (int) (epochMinute % MINUTES);
+        while (true) {
+            long v = slots.get(idx);
+            long slotMinute = v >>> 32;
+            long next;
+            if (slotMinute == epochMinute) {
+                next = pack(epochMinute, (int) v + delta);
+            } else if (slotMinute < epochMinute) {
+                next = pack(epochMinute, delta);
+            } else {
+                return; // slot already holds a newer minute; this update fell out of the window
+            }
+            if (slots.compareAndSet(idx, v, next)) return;
+        }
+    }
+
+    /** Sum over the most recent {@code minutes} minutes, including the current one. */
+    public long sum(int minutes, long nowMinute) {
+        long total = 0;
+        for (long m = nowMinute - minutes + 1; m <= nowMinute; m++) {
+            long v = slots.get((int) (m % MINUTES));
+            if ((v >>> 32) == m) total += (int) v;
+        }
+        return Math.max(0, total);
+    }
+
+    private static long pack(long minute, int count) {
+        return (minute << 32) | (count & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,95 @@
+package com.campusconnect.service;
+
+import com.campusconnect.model.Ticket;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Makes the (eventId, email) ticket index unique, so two bookings racing past
+ * the "already has a ticket" check cannot both be written. Runs at every start
+ * and does nothing once the unique index exists. Before building it, duplicate
+ * tickets are removed, keeping each student's earliest booking; a removed
+ * ticket goes through the same {@link TicketLifecycle#cancelled} as a student
+ * cancellation.
+ */
+@Component
+public class TicketIndexMigration implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(TicketIndexMigration.class);
+    private static final String INDEX = "event_email";
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final MongoTemplate mongo;
+    private final TicketLifecycle ticketLifecycle;
+
+    public TicketIndexMigration(MongoTemplate mongo, TicketLifecycle ticketLifecycle) {
+        this.mongo = mongo;
+        this.ticketLifecycle = ticketLifecycle;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        IndexOperations ops = mongo.indexOps(Ticket.class);
+        for (IndexInfo info : ops.getIndexInfo()) {
+            if (!INDEX.equals(info.getName())) continue;
+            if (info.isUnique()) return;
+            try {
+                ops.dropIndex(INDEX);
+                log.info("Ticket index migration - Dropped non-unique index: {}", INDEX);
+            } catch (Exception e) {
+                log.debug("Ticket index migration - Drop skipped (another instance?): {}", e.getMessage());
+            }
+        }
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            long removed = removeDuplicates();
+            try {
+                ops.ensureIndex(new Index().on("eventId", Sort.Direction.ASC).on("email", Sort.Direction.ASC)
+                        .unique().named(INDEX));
+                log.info("Ticket index migration - Unique index {} in place, DuplicatesRemoved: {}", INDEX, removed);
+                return;
+            } catch (DataIntegrityViolationException e) {
+                // A booking raced in a new duplicate between the sweep and the build
+                log.warn("Ticket index migration - Attempt {} hit a duplicate: {}", attempt, e.getMessage());
+            }
+        }
+        log.error("Ticket index migration - Unique index {} not built after {} attempts, retrying on next start",
+                INDEX, MAX_ATTEMPTS);
+    }
+
+    private long removeDuplicates() {
+        Aggregation duplicates = Aggregation.newAggregation(
+                Aggregation.sort(Sort.by("bookingTime", "_id")),
+                Aggregation.group("eventId", "email").push("_id").as("ids").count().as("n"),
+                Aggregation.match(Criteria.where("n").gt(1))
+        ).withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+        long removed = 0;
+        for (Document group : mongo.aggregate(duplicates, Ticket.class, Document.class)) {
+            List<Object> ids = group.getList("ids", Object.class);
+            // Earliest booking first; the rest are the duplicates
+            for (Object id : ids.subList(1, ids.size())) {
+                Ticket t = mongo.findById(id, Ticket.class);
+                if (t == null) continue;
+                mongo.remove(t);
+                ticketLifecycle.cancelled(t);
+                removed++;
+                log.warn("Ticket index migration - Duplicate removed - TicketId: {}, EventId: {}, Email: {}",
+                        t.getId(), t.getEventId(), t.getEmail());
+            }
+        }
+        return removed;
+    }
+}
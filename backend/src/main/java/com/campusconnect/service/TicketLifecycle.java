@@ -0,0 +1,72 @@
+package com.campusconnect.service;
+
+import com.campusconnect.journal.BookingJournal;
+import com.campusconnect.model.Event;
+import com.campusconnect.model.Ticket;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Everything that follows a ticket being written or removed: attendee
+ * buckets, trending, analytics, the journal, exports, check-in revocation and
+ * the other instances. Called once the ticket write has committed, so its
+ * outcome stands: a failing step is logged and the remaining steps still run.
+ */
+@Service
+public class TicketLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(TicketLifecycle.class);
+
+    private final AttendeeService attendees;
+    private final TrendingService trending;
+    private final CheckInService checkIns;
+    private final BookingJournal journal;
+    private final BookingAnalyticsService analytics;
+    private final ExportJobService exportJobs;
+    private final InvalidationBus bus;
+
+    public TicketLifecycle(AttendeeService attendees, TrendingService trending, CheckInService checkIns,
+                           BookingJournal journal, BookingAnalyticsService analytics, ExportJobService exportJobs,
+                           InvalidationBus bus) {
+        this.attendees = attendees;
+        this.trending = trending;
+        this.checkIns = checkIns;
+        this.journal = journal;
+        this.analytics = analytics;
+        this.exportJobs = exportJobs;
+        this.bus = bus;
+    }
+
+    public void booked(Event evt, Ticket ticket) {
+        step("attendee bucket", ticket, () -> attendees.booked(evt, ticket));
+        step("trending", ticket, () -> trending.booked(evt.getId(), evt.getName()));
+        step("journal", ticket, () -> journal.ticketBooked(ticket));
+        step("analytics", ticket, () -> analytics.booked(evt.getId()));
+        step("export invalidation", ticket, () -> exportJobs.invalidate(evt.getId()));
+        step("invalidation bus", ticket, () -> bus.ticketBooked(ticket.getId(), evt.getId(), evt.getName()));
+    }
+
+    /** For a ticket already deleted from {@code tickets}. */
+    public void cancelled(Ticket ticket) {
+        // Ticket ids are ObjectIds, whose timestamp is the booking time
+        long bookedAt = ObjectId.isValid(ticket.getId())
+                ? new ObjectId(ticket.getId()).getDate().getTime() : System.currentTimeMillis();
+        step("attendee bucket", ticket, () -> attendees.cancelled(ticket));
+        step("trending", ticket, () -> trending.cancelled(ticket.getEventId(), bookedAt));
+        step("check-in revocation", ticket, () -> checkIns.revoke(ticket.getId(), ticket.getEventId()));
+        step("journal", ticket, () -> journal.ticketCancelled(ticket));
+        step("analytics", ticket, () -> analytics.cancelled(ticket.getEventId()));
+        step("export invalidation", ticket, () -> exportJobs.invalidate(ticket.getEventId()));
+        step("invalidation bus", ticket, () -> bus.ticketCancelled(ticket.getId(), ticket.getEventId()));
+    }
+
+    private static void step(String name, Ticket ticket, Runnable action) {
+        try {
+            action.run();
+        } catch (Exception e) {
+            log.error("Ticket side effect failed - Step: {}, TicketId: {}, EventId: {}, Error: {}",
+                    name, ticket.getId(), ticket.getEventId(), e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.campusconnect.service;
+
+import com.campusconnect.model.Event;
+import com.campusconnect.model.Ticket;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Builds the attendee XLSX shared by the synchronous export and export jobs.
+ */
+@Component
+public class TicketWorkbookWriter {
+    public static final String CONTENT_TYPE = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+
+    private static final String[] COLUMNS = {"Ticket ID", "Event ID", "Event Name", "Student Name", "Email", "Booking Time"};
+
+    public String fileName(Event evt) {
+        return "event-" + URLEncoder.encode(evt.getName().replace(" ", "_"), StandardCharsets.UTF_8) + "-tickets.xlsx";
+    }
+
+    public void write(List<Ticket> tickets, OutputStream out) throws IOException {
+        try (Workbook wb = new XSSFWorkbook()) {
+            Sheet sheet = wb.createSheet("Tickets");
+            int rowIdx = 0;
+            Row header = sheet.createRow(rowIdx++);
+            for (int i = 0; i < COLUMNS.length; i++) header.createCell(i).setCellValue(COLUMNS[i]);
+
+            for (var t : tickets) {
+                Row r = sheet.createRow(rowIdx++);
+                r.createCell(0).setCellValue(t.getId());
+                r.createCell(1).setCellValue(t.getEventId());
+                r.createCell(2).setCellValue(t.getEventName());
+                r.createCell(3).setCellValue(t.getStudentName());
+                r.createCell(4).setCellValue(t.getEmail());
+                r.createCell(5).setCellValue(t.getBookingTime());
+            }
+            for (int i = 0; i < COLUMNS.length; i++) sheet.autoSizeColumn(i);
+
+            wb.write(out);
+        }
+    }
+}
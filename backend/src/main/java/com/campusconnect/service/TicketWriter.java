@@ -0,0 +1,191 @@
+package com.campusconnect.service;
+
+import com.campusconnect.model.Ticket;
+import com.campusconnect.repository.TicketRepository;
+import com.campusconnect.resilience.CircuitBreaker;
+import com.campusconnect.resilience.DatabaseUnavailableException;
+import com.campusconnect.resilience.RepositoryResilienceInterceptor;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Group commit for ticket inserts. Booking threads queue their ticket and wait;
+ * one writer thread collects up to {@code batch-size} tickets (or whatever
+ * arrived within {@code linger-ms}) and writes them as a single unordered bulk
+ * insert, then completes each caller with its own outcome. While a bulk is in
+ * flight the next batch builds up, so batches grow with the load.
+ * <p>
+ * A caller that stops waiting cancels its ticket if the writer has not claimed
+ * it yet; once claimed, the caller waits for the real outcome of the bulk, so a
+ * booking is never reported as failed after it was written.
+ */
+@Service
+public class TicketWriter {
+    private static final Logger log = LoggerFactory.getLogger(TicketWriter.class);
+    private static final int DUPLICATE_KEY = 11000;
+
+    private static final int QUEUED = 0, CLAIMED = 1, CANCELLED = 2;
+
+    private record Pending(Ticket ticket, CompletableFuture<Ticket> result, AtomicInteger state) {
+        boolean claim() {
+            return state.compareAndSet(QUEUED, CLAIMED);
+        }
+
+        boolean cancel() {
+            return state.compareAndSet(QUEUED, CANCELLED);
+        }
+    }
+
+    private final MongoTemplate mongo;
+    private final TicketRepository ticketRepo;
+    private final CircuitBreaker breaker;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final long waitMs;
+    private final BlockingQueue<Pending> queue;
+    private volatile boolean running;
+    private Thread writer;
+
+    public TicketWriter(MongoTemplate mongo, TicketRepository ticketRepo, RepositoryResilienceInterceptor resilience,
+                        @Value("${app.tickets.batch.size:256}") int batchSize,
+                        @Value("${app.tickets.batch.linger-ms:2}") long lingerMs,
+                        @Value("${app.tickets.batch.wait-ms:10000}") long waitMs,
+                        @Value("${app.tickets.batch.queue-capacity:4096}") int queueCapacity) {
+        this.mongo = mongo;
+        this.ticketRepo = ticketRepo;
+        this.breaker = resilience.breaker(RepositoryResilienceInterceptor.Compartment.BOOKING);
+        this.batchSize = Math.max(1, batchSize);
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMs);
+        this.waitMs = waitMs;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    /**
+     * Inserts the ticket as part of the next batch and waits for its result.
+     *
+     * @throws DuplicateKeyException if the ticket collides with a unique index
+     * @throws DatabaseUnavailableException if the batch failed or timed out
+     */
+    public Ticket insert(Ticket ticket) {
+        if (!running || queue.remainingCapacity() == 0) {
+            // Writer stopped or saturated: insert directly (through the repository bulkhead)
+            return ticketRepo.insert(ticket);
+        }
+        breaker.acquire();
+        Pending p = new Pending(ticket, new CompletableFuture<>(), new AtomicInteger(QUEUED));
+        if (!queue.offer(p)) {
+            breaker.onIgnored();
+            return ticketRepo.insert(ticket);
+        }
+        try {
+            try {
+                return p.result().get(waitMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (p.cancel()) {
+                    breaker.onIgnored();
+                    log.warn("Ticket write timed out in queue - TicketId: {}, EventId: {}", ticket.getId(), ticket.getEventId());
+                    throw new DatabaseUnavailableException("Ticket write timed out", 1);
+                }
+                // Already in a bulk: its outcome is bounded by the socket read timeout
+                log.warn("Ticket write slow, awaiting its batch - TicketId: {}, EventId: {}", ticket.getId(), ticket.getEventId());
+                return p.result().get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            // Not written if still queued; if already claimed the ticket may exist, as with any interrupted write
+            p.cancel();
+            throw new DatabaseUnavailableException("Ticket write interrupted", 1);
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = new Thread(this::run, "ticket-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(50, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long left = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || left <= 0) break;
+                    Pending next = queue.poll(left, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Pending> all) {
+        // Skip tickets whose callers already gave up; the rest can no longer be cancelled
+        List<Pending> batch = all.stream().filter(Pending::claim).toList();
+        if (batch.isEmpty()) return;
+        List<Ticket> tickets = batch.stream().map(Pending::ticket).toList();
+        try {
+            mongo.bulkOps(BulkOperations.BulkMode.UNORDERED, Ticket.class).insert(tickets).execute();
+            breaker.onSuccess();
+        } catch (BulkOperationException e) {
+            // The server answered: only the listed items failed, everything else was written
+            breaker.onSuccess();
+            for (var error : e.getErrors()) {
+                Pending p = batch.get(error.getIndex());
+                p.result().completeExceptionally(error.getCode() == DUPLICATE_KEY
+                        ? new DuplicateKeyException(error.getMessage())
+                        : new DataIntegrityViolationException(error.getMessage()));
+            }
+            log.warn("Ticket batch partially failed - Batch: {}, Failed: {}", batch.size(), e.getErrors().size());
+        } catch (Exception e) {
+            if (RepositoryResilienceInterceptor.isDatabaseFailure(e)) {
+                breaker.onFailure();
+            } else {
+                breaker.onIgnored();
+            }
+            log.error("Ticket batch failed - Batch: {}, Error: {}", batch.size(), e.getMessage());
+            var failure = new DatabaseUnavailableException("Ticket write failed", 1);
+            batch.forEach(p -> p.result().completeExceptionally(failure));
+            return;
+        }
+        // No-op for the items already failed above
+        batch.forEach(p -> p.result().complete(p.ticket()));
+        log.debug("Ticket batch written - Batch: {}", batch.size());
+    }
+}
@@ -0,0 +1,142 @@
+package com.campusconnect.service;
+
+import com.campusconnect.model.Ticket;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * "Filling fast" leaderboard. Bookings and cancellations update per-event
+ * sliding-window counters in memory; a background refresh ranks the events
+ * for each window, so reads just return the last published ranking.
+ */
+@Service
+public class TrendingService {
+    private static final Logger log = LoggerFactory.getLogger(TrendingService.class);
+
+    public enum Window {
+        M5("5m", 5), H1("1h", 60), H24("24h", SlidingWindowCounter.MINUTES);
+
+        final String label;
+        final int minutes;
+
+        Window(String label, int minutes) {
+            this.label = label;
+            this.minutes = minutes;
+        }
+
+        public static Optional<Window> of(String label) {
+            return Arrays.stream(values()).filter(w -> w.label.equals(label)).findFirst();
+        }
+    }
+
+    public record Entry(String eventId, String eventName, long bookings) {}
+
+    private record Tracked(SlidingWindowCounter counter, String eventName) {}
+
+    private final MongoTemplate mongo;
+    private final int topK;
+    private final Map<String, Tracked> events = new ConcurrentHashMap<>();
+    private volatile Map<Window, List<Entry>> rankings = Map.of();
+
+    public TrendingService(MongoTemplate mongo, @Value("${app.trending.top-k:20}") int topK) {
+        this.mongo = mongo;
+        this.topK = topK;
+    }
+
+    public void booked(String eventId, String eventName) {
+        record(eventId, eventName, currentMinute(), 1);
+    }
+
+    /** Cancels a booking made at {@code bookedAtMillis}; a no-op once that is outside 24h. */
+    public void cancelled(String eventId, long bookedAtMillis) {
+        events.computeIfPresent(eventId, (id, t) -> {
+            t.counter().add(TimeUnit.MILLISECONDS.toMinutes(bookedAtMillis), -1, currentMinute());
+            return t;
+        });
+    }
+
+    public void removeEvent(String eventId) {
+        events.remove(eventId);
+    }
+
+    public List<Entry> top(Window window, int limit) {
+        List<Entry> ranked = rankings.getOrDefault(window, List.of());
+        return ranked.size() <= limit ? ranked : ranked.subList(0, limit);
+    }
+
+    // Counter updates run inside compute so refresh() cannot drop an entry mid-update
+    private void record(String eventId, String eventName, long minute, int delta) {
+        events.compute(eventId, (id, t) -> {
+            Tracked tracked = t != null && (t.eventName() != null || eventName == null)
+                    ? t : new Tracked(t != null ? t.counter() : new SlidingWindowCounter(), eventName);
+            tracked.counter().add(minute, delta, currentMinute());
+            return tracked;
+        });
+    }
+
+    // Re-ranks every window; idle events (nothing in 24h) are dropped
+    @Scheduled(fixedDelayString = "${app.trending.refresh-ms:5000}")
+    public void refresh() {
+        long now = currentMinute();
+        Map<Window, List<Entry>> next = new EnumMap<>(Window.class);
+        for (Window w : Window.values()) {
+            PriorityQueue<Entry> heap = new PriorityQueue<>(Comparator.comparingLong(Entry::bookings));
+            events.forEach((id, t) -> {
+                long n = t.counter().sum(w.minutes, now);
+                if (n <= 0) return;
+                heap.add(new Entry(id, t.eventName(), n));
+                if (heap.size() > topK) heap.poll();
+            });
+            List<Entry> ranked = new ArrayList<>(heap);
+            ranked.sort(Comparator.comparingLong(Entry::bookings).reversed());
+            next.put(w, List.copyOf(ranked));
+        }
+        rankings = next;
+        for (String id : events.keySet()) {
+            events.computeIfPresent(id, (k, t) -> t.counter().sum(SlidingWindowCounter.MINUTES, now) <= 0 ? null : t);
+        }
+    }
+
+    /**
+     * Rebuilds the counters from the last 24h of tickets in one query (ObjectId carries the booking time).
+     * Replaces what is counted so far, so it also resynchronises after missed invalidation messages.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        try {
+            Date since = new Date(System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(SlidingWindowCounter.MINUTES));
+            Query recent = Query.query(Criteria.where("_id").gte(ObjectId.getSmallestWithDate(since)));
+            recent.fields().include("eventId", "eventName");
+            var docs = mongo.find(recent, Document.class, mongo.getCollectionName(Ticket.class));
+            events.clear();
+            for (Document d : docs) {
+                if (d.get("_id") instanceof ObjectId id) {
+                    record(d.getString("eventId"), d.getString("eventName"),
+                            TimeUnit.SECONDS.toMinutes(id.getTimestamp()), 1);
+                }
+            }
+            refresh();
+            log.info("Trending counters rebuilt - Tickets: {}, Events: {}", docs.size(), events.size());
+        } catch (Exception e) {
+            log.error("Trending counters rebuild failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private static long currentMinute() {
+        return TimeUnit.MILLISECONDS.toMinutes(System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,195 @@
+package com.campusconnect.service;
+
+import com.campusconnect.dto.EventSyncResponse;
+import com.campusconnect.model.Club;
+import com.campusconnect.model.Event;
+import com.campusconnect.model.Student;
+import com.campusconnect.model.Ticket;
+import com.campusconnect.security.JwtService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Readiness gate. After startup a background warm-up opens the Mongo pool,
+ * runs the JWT and JSON paths until the JIT has compiled them, loads the event
+ * catalogue cache and sends a few requests through the web stack. Until it
+ * finishes this indicator is DOWN, which keeps {@code /actuator/health/readiness}
+ * down and the instance out of rotation. Failing steps are retried.
+ */
+@Service("warmUp")
+public class WarmUpService implements HealthIndicator {
+    private static final Logger log = LoggerFactory.getLogger(WarmUpService.class);
+
+    private final MongoTemplate mongo;
+    private final JwtService jwtService;
+    private final ObjectMapper mapper;
+    private final EventCatalogCache catalogCache;
+    private final boolean enabled;
+    private final int mongoConnections;
+    private final int iterations;
+    private final long retryMs;
+
+    private volatile boolean done;
+    private volatile String step = "pending";
+    private volatile String lastError;
+    private volatile long durationMs;
+
+    public WarmUpService(MongoTemplate mongo, JwtService jwtService, ObjectMapper mapper, EventCatalogCache catalogCache,
+                         @Value("${app.warmup.enabled:true}") boolean enabled,
+                         @Value("${app.warmup.mongo-connections:8}") int mongoConnections,
+                         @Value("${app.warmup.iterations:5000}") int iterations,
+                         @Value("${app.warmup.retry-ms:5000}") long retryMs) {
+        this.mongo = mongo;
+        this.jwtService = jwtService;
+        this.mapper = mapper;
+        this.catalogCache = catalogCache;
+        this.enabled = enabled;
+        this.mongoConnections = mongoConnections;
+        this.iterations = iterations;
+        this.retryMs = retryMs;
+        this.done = !enabled;
+    }
+
+    @Override
+    public Health health() {
+        if (done) {
+            return Health.up().withDetail("durationMs", durationMs).build();
+        }
+        Health.Builder down = Health.down().withDetail("step", step);
+        return lastError == null ? down.build() : down.withDetail("error", lastError).build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start(ApplicationReadyEvent event) {
+        if (!enabled) return;
+        int port = event.getApplicationContext() instanceof WebServerApplicationContext web
+                ? web.getWebServer().getPort() : -1;
+        Thread t = new Thread(() -> run(port), "warm-up");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    private void run(int port) {
+        long started = System.nanoTime();
+        while (!done) {
+            try {
+                step = "mongo";
+                openMongoPool();
+                step = "jwt";
+                exerciseJwt();
+                step = "serialization";
+                exerciseSerialization();
+                step = "catalogue";
+                preloadCatalogue();
+                step = "http";
+                exerciseHttp(port);
+                durationMs = (System.nanoTime() - started) / 1_000_000;
+                done = true;
+                log.info("Warm-up completed - Duration: {} ms, ready for traffic", durationMs);
+            } catch (Exception e) {
+                lastError = e.getMessage();
+                log.warn("Warm-up step failed - Step: {}, Error: {} (retrying in {} ms)", step, e.getMessage(), retryMs);
+                try {
+                    Thread.sleep(retryMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    // Concurrent pings force the driver to open that many pooled connections
+    private void openMongoPool() {
+        ExecutorService pool = Executors.newFixedThreadPool(mongoConnections);
+        try {
+            List<CompletableFuture<Void>> pings = new ArrayList<>();
+            for (int i = 0; i < mongoConnections; i++) {
+                pings.add(CompletableFuture.runAsync(() -> mongo.getDb().runCommand(new Document("ping", 1)), pool));
+            }
+            CompletableFuture.allOf(pings.toArray(CompletableFuture[]::new)).join();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private void exerciseJwt() {
+        Club club = new Club("warmup", "Warm-up Club", "warmup@campusconnect.local", null);
+        Student student = new Student();
+        student.setId("warmup");
+        student.setName("Warm-up Student");
+        student.setEmail("warmup@campusconnect.local");
+        String ticketId = new ObjectId().toHexString();
+        for (int i = 0; i < iterations; i++) {
+            jwtService.parse(jwtService.generateToken(club));
+            jwtService.parse(jwtService.generateTokenForStudent(student));
+            jwtService.verifyTicketToken(jwtService.generateTicketToken(ticketId, "warmup"));
+        }
+    }
+
+    private void exerciseSerialization() throws Exception {
+        Event event = new Event("warmup", "Warm-up", "", "2000-01-01", "10:00", Instant.EPOCH, "Hall", 100,
+                "warmup", "Warm-up Club", false, false, null, 1L, Instant.EPOCH);
+        Ticket ticket = new Ticket("warmup", "warmup", "Warm-up", "Warm-up Student", "warmup@campusconnect.local",
+                "2000-01-01T10:00:00", "warmup");
+        List<Event> events = List.of(event, event, event);
+        EventSyncResponse sync = new EventSyncResponse("delta", 1, events, List.of("warmup"));
+        for (int i = 0; i < iterations; i++) {
+            mapper.readValue(mapper.writeValueAsBytes(event), Event.class);
+            mapper.writeValueAsBytes(ticket);
+            mapper.writeValueAsBytes(events);
+            mapper.writeValueAsBytes(sync);
+            mapper.writeValueAsBytes(Map.of("message", "warmup"));
+        }
+    }
+
+    private void preloadCatalogue() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + retryMs;
+        while (catalogCache.listing() == null) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException("event catalogue cache not built");
+            }
+            catalogCache.scheduleRebuild();
+            Thread.sleep(50);
+        }
+    }
+
+    // Dispatcher, converters and filters initialise lazily on the first request
+    private void exerciseHttp(int port) throws Exception {
+        if (port <= 0) return;
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        for (String path : List.of("/events", "/events?view=summary", "/events/sync", "/events/trending")) {
+            for (int i = 0; i < 20; i++) {
+                HttpRequest req = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                        .header("Accept-Encoding", i % 2 == 0 ? "gzip" : "identity")
+                        .timeout(Duration.ofSeconds(5))
+                        .build();
+                client.send(req, HttpResponse.BodyHandlers.discarding());
+            }
+        }
+    }
+}
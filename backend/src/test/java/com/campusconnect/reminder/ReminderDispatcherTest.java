@@ -0,0 +1,150 @@
+package com.campusconnect.reminder;
+
+import com.campusconnect.CampusConnectApplication;
+import com.campusconnect.model.Event;
+import com.campusconnect.model.ReminderRun;
+import com.campusconnect.model.Ticket;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the dispatcher against an in-process SMTP server (GreenMail). Needs a
+ * Mongo at {@code TEST_MONGODB_URI} (without a database name); a fresh database
+ * is used per run and dropped after.
+ */
+@EnabledIfEnvironmentVariable(named = "TEST_MONGODB_URI", matches = ".+")
+class ReminderDispatcherTest {
+    private final String database = "reminder-test-" + new ObjectId().toHexString();
+    private final Instant startsAt = Instant.now().plus(30, ChronoUnit.MINUTES).truncatedTo(ChronoUnit.MINUTES);
+    private GreenMail smtp;
+    private ConfigurableApplicationContext context;
+
+    @BeforeEach
+    void start() {
+        smtp = new GreenMail(ServerSetupTest.SMTP.dynamicPort());
+        smtp.start();
+        context = instance();
+    }
+
+    @AfterEach
+    void stop() {
+        if (context != null) {
+            context.getBean(MongoTemplate.class).getDb().drop();
+            context.close();
+        }
+        smtp.stop();
+    }
+
+    @Test
+    void oneMailPerStudentForEventsStartingTogether() throws Exception {
+        MongoTemplate mongo = context.getBean(MongoTemplate.class);
+        Event talk = event(mongo, "Talk");
+        Event workshop = event(mongo, "Workshop");
+        ticket(mongo, talk, "alice@example.com");
+        ticket(mongo, workshop, "alice@example.com");
+        ticket(mongo, talk, "bob@example.com");
+        ticket(mongo, workshop, "carol@example.com");
+
+        dispatchAndAwait(List.of(talk, workshop));
+
+        List<String> to = recipients();
+        assertEquals(List.of("alice@example.com", "bob@example.com", "carol@example.com"), to.stream().sorted().toList());
+        MimeMessage alice = message("alice@example.com");
+        assertTrue(alice.getSubject().startsWith("Reminder: 2 of your events"), alice.getSubject());
+    }
+
+    @Test
+    void restartResumesAfterTheCheckpoint() throws Exception {
+        MongoTemplate mongo = context.getBean(MongoTemplate.class);
+        Event talk = event(mongo, "Talk");
+        ticket(mongo, talk, "alice@example.com");
+        ticket(mongo, talk, "bob@example.com");
+        ticket(mongo, talk, "carol@example.com");
+        // An earlier instance got through bob, then died; its lease has run out
+        mongo.insert(new ReminderRun(talk.getId(), startsAt, "bob@example.com", 2, 0, false,
+                "crashed-instance", Instant.now().minusSeconds(60)));
+
+        dispatchAndAwait(List.of(talk));
+        assertEquals(List.of("carol@example.com"), recipients());
+
+        // Restart once the run is done: nothing is sent again
+        context.close();
+        context = instance();
+        dispatchAndAwait(List.of(talk));
+        assertEquals(List.of("carol@example.com"), recipients());
+    }
+
+    private ConfigurableApplicationContext instance() {
+        return new SpringApplicationBuilder(CampusConnectApplication.class)
+                .properties(
+                        "spring.data.mongodb.uri=" + System.getenv("TEST_MONGODB_URI"),
+                        "spring.data.mongodb.database=" + database,
+                        "app.jwt.secret=reminder-dispatcher-test-secret-0123456789-0123456789",
+                        "server.port=0",
+                        "app.journal.enabled=false",
+                        "app.reminders.interval-ms=3600000",
+                        "app.reminders.transport=smtp",
+                        "app.reminders.smtp.host=localhost",
+                        "app.reminders.smtp.port=" + smtp.getSmtp().getPort())
+                .run();
+    }
+
+    private Event event(MongoTemplate mongo, String name) {
+        Event e = new Event(null, name, "", "2000-01-01", "10:00", startsAt, "Hall", 100,
+                "club", "Club", false, false, null, null, null);
+        return mongo.insert(e);
+    }
+
+    private static void ticket(MongoTemplate mongo, Event e, String email) {
+        mongo.insert(new Ticket(null, e.getId(), e.getName(), email.substring(0, email.indexOf('@')), email,
+                "2000-01-01T09:00:00", "token"));
+    }
+
+    // Dispatch runs on the reminder thread; wait for it, then check every event's run is done
+    private void dispatchAndAwait(List<Event> events) throws InterruptedException {
+        MongoTemplate mongo = context.getBean(MongoTemplate.class);
+        ReminderDispatcher dispatcher = context.getBean(ReminderDispatcher.class);
+        dispatcher.dispatch();
+        long deadline = System.currentTimeMillis() + 15_000;
+        while (dispatcher.isRunning() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+        Query done = Query.query(Criteria.where("_id").in(events.stream().map(Event::getId).toList())
+                .and("done").is(true));
+        assertEquals(events.size(), mongo.count(done, ReminderRun.class), "reminder runs not finished");
+    }
+
+    private List<String> recipients() throws Exception {
+        List<String> to = new ArrayList<>();
+        for (MimeMessage m : smtp.getReceivedMessages()) {
+            to.add(m.getAllRecipients()[0].toString());
+        }
+        return to;
+    }
+
+    private MimeMessage message(String to) throws Exception {
+        for (MimeMessage m : smtp.getReceivedMessages()) {
+            if (m.getAllRecipients()[0].toString().equals(to)) return m;
+        }
+        throw new AssertionError("no mail to " + to);
+    }
+}
@@ -0,0 +1,92 @@
+package com.campusconnect.service;
+
+import com.campusconnect.CampusConnectApplication;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Two application contexts against one Mongo database, standing in for two
+ * instances. Needs a replica-set or standalone Mongo at {@code TEST_MONGODB_URI}
+ * (without a database name); a fresh database is used per run and dropped after.
+ */
+@EnabledIfEnvironmentVariable(named = "TEST_MONGODB_URI", matches = ".+")
+class InvalidationBusTest {
+    private final String database = "invalidation-test-" + new ObjectId().toHexString();
+    private ConfigurableApplicationContext first;
+    private ConfigurableApplicationContext second;
+
+    @BeforeEach
+    void start() {
+        first = instance();
+        second = instance();
+    }
+
+    @AfterEach
+    void stop() {
+        if (second != null) second.close();
+        if (first != null) {
+            first.getBean(MongoTemplate.class).getDb().drop();
+            first.close();
+        }
+    }
+
+    @Test
+    void messagesReachTheOtherInstanceInOrder() throws InterruptedException {
+        InvalidationBus sender = first.getBean(InvalidationBus.class);
+        InvalidationBus receiver = second.getBean(InvalidationBus.class);
+        long before = receiver.applied();
+
+        for (int i = 0; i < 100; i++) {
+            sender.eventChanged("event-" + i);
+        }
+
+        await(() -> receiver.applied() - before, 100);
+        assertEquals(0, receiver.flushes(), "no gap expected");
+        assertEquals(0, sender.dropped());
+    }
+
+    @Test
+    void bothDirectionsAreApplied() throws InterruptedException {
+        InvalidationBus a = first.getBean(InvalidationBus.class);
+        InvalidationBus b = second.getBean(InvalidationBus.class);
+        long aBefore = a.applied();
+        long bBefore = b.applied();
+
+        a.catalogChanged();
+        b.catalogChanged();
+
+        await(() -> a.applied() - aBefore, 1);
+        await(() -> b.applied() - bBefore, 1);
+    }
+
+    private ConfigurableApplicationContext instance() {
+        return new SpringApplicationBuilder(CampusConnectApplication.class)
+                .properties(
+                        "spring.data.mongodb.uri=" + System.getenv("TEST_MONGODB_URI"),
+                        "spring.data.mongodb.database=" + database,
+                        "app.jwt.secret=invalidation-bus-test-secret-0123456789-0123456789",
+                        "server.port=0",
+                        "app.journal.enabled=false",
+                        "app.invalidation.await-ms=100")
+                .run();
+    }
+
+    private static void await(LongSupplier value, long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (value.getAsLong() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertTrue(value.getAsLong() >= expected, "expected " + expected + " applied, got " + value.getAsLong());
+    }
+}
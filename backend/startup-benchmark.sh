@@ -0,0 +1,60 @@
+#!/bin/bash
+# Measures startup time and resident memory for each launch mode.
+# Needs SPRING_DATA_MONGODB_URI and APP_JWT_SECRET in the environment.
+#
+#   ./startup-benchmark.sh jar|aot-cds|native [runs]
+#
+# jar      plain fat jar             (./mvnw clean package)
+# aot-cds  AOT + CDS, as in Docker   (./mvnw -Pfast-start clean package)
+# native   GraalVM native image      (./mvnw -Pnative native:compile)
+#
+# aot-cds and native take bean conditions and profiles from the build, not
+# from this environment. Record medians in DEPLOYMENT_SPEC.md.
+
+MODE=${1:-jar}
+RUNS=${2:-5}
+JAR=campusconnect-0.0.1-SNAPSHOT.jar
+PORT=${PORT:-8089}
+
+case "$MODE" in
+    jar)
+        CMD="java -jar target/$JAR"
+        ;;
+    aot-cds)
+        if [ ! -f target/app/app.jsa ]; then
+            echo "📦 Extracting and creating CDS archive..."
+            rm -rf target/app
+            java -Djarmode=tools -jar target/$JAR extract --destination target/app || exit 1
+            (cd target/app && java -XX:ArchiveClassesAtExit=app.jsa -Dspring.aot.enabled=true \
+                -Dspring.context.exit=onRefresh -Dspring.data.mongodb.auto-index-creation=false -jar $JAR) > /dev/null
+        fi
+        CMD="java -XX:SharedArchiveFile=target/app/app.jsa -Dspring.aot.enabled=true -jar target/app/$JAR"
+        ;;
+    native)
+        CMD="target/campusconnect"
+        ;;
+    *)
+        echo "Unknown mode: $MODE"
+        exit 1
+        ;;
+esac
+
+echo "⏱  Mode: $MODE ($RUNS runs)"
+for i in $(seq 1 "$RUNS"); do
+    LOG=$(mktemp)
+    $CMD --server.port=$PORT > "$LOG" 2>&1 &
+    PID=$!
+    until grep -q "Started CampusConnectApplication" "$LOG"; do
+        if ! kill -0 $PID 2>/dev/null; then
+            echo "❌ Startup failed, see $LOG"
+            exit 1
+        fi
+        sleep 0.1
+    done
+    STARTED=$(grep -o "Started CampusConnectApplication in [0-9.]* seconds" "$LOG" | grep -o "[0-9.]*")
+    RSS_KB=$(ps -o rss= -p $PID | tr -d ' ')
+    echo "run $i: started in ${STARTED}s, RSS $((RSS_KB / 1024)) MB"
+    kill $PID
+    wait $PID 2>/dev/null
+    rm -f "$LOG"
+done